@@ -27,7 +27,6 @@ import ai.susi.mind.SusiCognition;
 import ai.susi.mind.SusiFace;
 import ai.susi.server.ClientIdentity;
 import ai.susi.tools.EtherpadClient;
-import ai.susi.tools.TimeoutMatcher;
 import org.joda.time.DateTime;
 
 import java.io.File;
@@ -161,7 +160,6 @@ public class Caretaker extends Thread {
             try {
                 deleteOldFiles();
                 checkEtherpadChat();
-                TimeoutMatcher.terminateAll();
             } catch (Throwable e) {
                 DAO.severe("CARETAKER THREAD", e);
             }
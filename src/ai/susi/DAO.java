@@ -24,7 +24,9 @@ import ai.susi.json.JsonTray;
 import ai.susi.mind.SusiAction.SusiActionException;
 import ai.susi.mind.SusiMemory;
 import ai.susi.mind.SusiMind;
+import ai.susi.mind.SusiMindCache;
 import ai.susi.mind.SusiSkill;
+import ai.susi.mind.SusiSkillNameIndex;
 import ai.susi.server.*;
 import ai.susi.tools.DateParser;
 import ai.susi.tools.IO;
@@ -38,9 +40,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import javax.annotation.Nonnull;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -132,6 +132,8 @@ public class DAO {
     public static SusiMind susi_operation_linguistics; // this is the top mind layer
     public static SusiMind susi_operation_skills;      // this is the bottom mind layer
     public static SusiMind susi;
+    public static SusiMindCache susi_minds; // the compiled minds of instant, dream, persona, focus and private skills
+    private final static SusiSkillNameIndex skillNames = new SusiSkillNameIndex(10000); // a map from skill names to skill files, checked again after 10 seconds
     
 
     /**
@@ -366,6 +368,8 @@ public class DAO {
 
         // wake up susi
         susi = new SusiMind(susi_memory);
+        susi_minds = new SusiMindCache(getConfig("susi.mind.cache.weight", 16L * 1024L * 1024L));
+        if (getConfig("susi.mind.snapshot", true)) susi.setSnapshot(new File(new File(data_dir, "mind"), "snapshot.json.gz"));
         if (learnWorldKnowledge) {
             SusiMind.Layer system_skills_include = new SusiMind.Layer("General", new File(new File(conf_dir, "os_skills"), "include"), true);
             SusiMind.Layer system_skills_linuguistic = new SusiMind.Layer("General", new File(new File(conf_dir, "os_skills"), "linguistic"), true);
@@ -430,19 +434,6 @@ public class DAO {
         dictionaries = new File(external_data, "dictionaries");
         dictionaries.mkdirs();
 
-        // initializing susi minf concurrently
-        Thread susi_mind_init = new Thread() {
-            public void run() {
-                Thread.currentThread().setName("ObserveLearn");
-                try {
-                    susi.observe();
-                } catch (IOException e) {
-                    DAO.severe(e);
-                }
-            }
-        };
-        susi_mind_init.start();
-
         // initializing the log concurrently
         Path log_dump_dir = dataPath.resolve("log");
         log_dump_dir.toFile().mkdirs();
@@ -490,6 +481,9 @@ public class DAO {
         // close pull thread
         SkillTransactions.close();
 
+        // stop watching the skill files
+        susi.close();
+
         log("closed DAO");
     }
 
@@ -1211,41 +1205,24 @@ public class DAO {
      * @throws SusiActionException 
      */
     public static File getSkillFileInLanguage(File languagepath, String skill_name, boolean null_if_not_found) {
-        String fn = skill_name + ".txt";
-        String[] list = languagepath.list();
-        
         DAO.log("getSkillFileInLanguage: languagepath:"+languagepath+ ", skill_name:" + skill_name + ", null_if_not_found:" + null_if_not_found);
 
-        // first try: the skill name may be same or similar to the skill file name
-        if(list !=null && list.length!=0){
-            for (String n: list) {
-                if (n.equalsIgnoreCase(fn)) {
-                    return IO.resolvePath(languagepath.toPath(), n).toFile();
-                }
-            }
-        }
-
-        // second try: the skill name may be same or similar to the skill name within the skill description
-        // this is costly: we must parse the whole skill file
-        if (list != null && list.length != 0){
-            for (String n: list) {
-                if (!n.endsWith(".txt") && !n.endsWith(".ezd")) continue;
-                File f = IO.resolvePath(languagepath.toPath(), n).toFile();
-                try(FileReader fileReader = new FileReader(f)) {
-                    SusiSkill.ID skillid = new SusiSkill.ID(f);
-                    SusiSkill skill = new SusiSkill(new BufferedReader(fileReader), skillid, false);
-                    String sn = skill.getSkillName();
-                    if (sn != null && (sn.equalsIgnoreCase(skill_name) || sn.replace(' ', '_').equalsIgnoreCase(skill_name))) {
-                        return f;
-                    }
-                } catch (IOException | JSONException | SusiActionException e) {
-                    continue;
-                }
-            }
-        }
+        // the skill name may be same or similar to the skill file name or to the skill name within the skill description
+        File skill = skillNames.find(languagepath, skill_name);
+        if (skill != null) return skill;
 
         // the final attempt is bad and may not succeed, but it's the only last thing left we could do.
-        return null_if_not_found ? null : IO.resolvePath(languagepath.toPath(), fn).toFile();
+        return null_if_not_found ? null : IO.resolvePath(languagepath.toPath(), skill_name + ".txt").toFile();
+    }
+
+    /**
+     * update all indexes and caches which depend on a skill file. This must be called after a skill file was
+     * created, modified or deleted.
+     * @param skill the skill file
+     */
+    public static void skillFileChanged(File skill) {
+        skillNames.update(skill);
+        if (susi_minds != null) susi_minds.invalidate(skill);
     }
 
     /**
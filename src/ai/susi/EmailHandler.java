@@ -64,10 +64,10 @@ public class EmailHandler {
         }
 
         Pattern pattern = Pattern.compile(EMAIL_PATTERN);
-        if (!new TimeoutMatcher(pattern.matcher(addressTo)).matches()) {
+        if (!new TimeoutMatcher(pattern, addressTo).matches()) {
             throw new Exception("Invalid email ID");
         }
-        if (!new TimeoutMatcher(pattern.matcher(senderEmail)).matches()) {
+        if (!new TimeoutMatcher(pattern, senderEmail).matches()) {
             throw new Exception("Invalid sender ID");
         }
 
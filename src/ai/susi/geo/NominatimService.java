@@ -17,12 +17,12 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ContentType;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.util.EntityUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import ai.susi.tools.HttpClientPool;
+
 public class NominatimService {
 	@SuppressWarnings("serial")
 	public static class LocationNotFoundException extends Exception {
@@ -79,14 +79,15 @@ public class NominatimService {
 	
 	private static String getRawJsonResponse(URI uri) throws ClientProtocolException, IOException {
 		HttpGet httpGet = new HttpGet(uri);
+		httpGet.setHeader("User-Agent", NominatimService.userAgent);
     	
-    	CloseableHttpClient client = HttpClientBuilder.create().setUserAgent(NominatimService.userAgent).build();
-    	CloseableHttpResponse httpResponse = client.execute(httpGet);
-		assertThat(httpResponse.getStatusLine().getStatusCode(), equalTo(200));
-		
-		String contentMimeType = ContentType.getOrDefault(httpResponse.getEntity()).getMimeType();
-		assertThat(contentMimeType, equalTo(ContentType.APPLICATION_JSON.getMimeType()));
-		
-		return EntityUtils.toString(httpResponse.getEntity());
+    	try (CloseableHttpResponse httpResponse = HttpClientPool.interactive().getClient().execute(httpGet)) {
+			assertThat(httpResponse.getStatusLine().getStatusCode(), equalTo(200));
+			
+			String contentMimeType = ContentType.getOrDefault(httpResponse.getEntity()).getMimeType();
+			assertThat(contentMimeType, equalTo(ContentType.APPLICATION_JSON.getMimeType()));
+			
+			return EntityUtils.toString(httpResponse.getEntity());
+    	}
 	}
 }
@@ -21,19 +21,48 @@
 package ai.susi.json;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
 public class JsonPath {
-    
+
+    private final static JsonFactory jsonFactory = new JsonFactory()
+            .enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES)
+            .enable(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES);
+
     public static JSONArray parse(byte[] b, String jsonPath) throws JSONException {
-        JSONTokener tokener = new JSONTokener(new ByteArrayInputStream(b));
+        return parse(b, jsonPath, 0);
+    }
+
+    /**
+     * Parse the data of a console query. The json is read with a stream parser and only the value at the
+     * path is materialized; everything else is skipped and the parser stops at the end of that value or
+     * when the array at the path has the maximum number of rows. Documents which the stream parser cannot
+     * read (i.e. because they use the relaxed syntax of the JSONTokener or do not match the path) are parsed
+     * completely, which produces the same result or error as before.
+     * @param b the json
+     * @param jsonPath a path as defined by http://goessner.net/articles/JsonPath/
+     * @param limit the maximum number of rows of the result, 0 for all rows
+     * @return a JSONArray with the data part of a console query
+     */
+    public static JSONArray parse(byte[] b, String jsonPath, int limit) throws JSONException {
+        Object decomposition = stream(b, jsonPath, limit);
         try {
-            JSONArray data = JsonPath.parse(tokener, jsonPath);
+            if (decomposition != null) return rows(wrap(decomposition));
+            JSONTokener tokener = new JSONTokener(new ByteArrayInputStream(b));
+            JSONArray data = rows(limit(parseRaw(tokener, jsonPath), limit));
             return data;
         } catch (JSONException e) {
             if (jsonPath.equals("$")) {
@@ -45,7 +74,17 @@ public class JsonPath {
     }
     
     private static JSONArray parse(JSONTokener tokener, String jsonPath) throws JSONException {
-        JSONArray a = parseRaw(tokener, jsonPath);
+        return rows(parseRaw(tokener, jsonPath));
+    }
+
+    private static JSONArray limit(JSONArray a, int limit) {
+        if (a == null || limit <= 0 || a.length() <= limit) return a;
+        JSONArray b = new JSONArray();
+        for (int i = 0; i < limit; i++) b.put(a.get(i));
+        return b;
+    }
+
+    private static JSONArray rows(JSONArray a) throws JSONException {
         if (a.length() == 0) return a; // length == 1 will cause an empty thought. Its not wrong, it will just cause that thinking fails. May be wanted.
         Object f = a.get(0);
         if (a.length() == 1 && (!(f instanceof JSONObject))) {
@@ -111,6 +150,10 @@ public class JsonPath {
                 }
             }
         }
+        return wrap(decomposition);
+    }
+
+    private static JSONArray wrap(Object decomposition) throws JSONException {
         if (decomposition instanceof JSONArray) return (JSONArray) decomposition;
         if (decomposition instanceof JSONObject) {
             // enrich the decomposition with header/column entries
@@ -132,6 +175,124 @@ public class JsonPath {
         throw new JSONException("unrecognized object type: " + decomposition.getClass().getName());
     }
 
+    /**
+     * translate a path into steps: a String step is the name of an object member, an Integer step is
+     * the index of an array element. The syntax is the same as in parseRaw.
+     * @return the steps or null if the path is not supported
+     */
+    private static List<Object> steps(String[] dompath) {
+        List<Object> steps = new ArrayList<>();
+        if (dompath.length < 1) return null;
+        try {
+            if (dompath.length == 1) {
+                if (dompath[0].equals("$")) return steps;
+                if (dompath[0].length() > 1 && dompath[0].charAt(1) == '[' && dompath[0].charAt(dompath[0].length() - 1) == ']') {
+                    steps.add(Integer.parseInt(dompath[0].substring(2, dompath[0].length() - 1)));
+                    return steps;
+                }
+                return null;
+            }
+            for (int domc = 1; domc < dompath.length; domc++) {
+                String path = dompath[domc];
+                int p = path.indexOf('[');
+                int q = p < 0 ? -1 : path.indexOf(']', p + 1);
+                if (p < 0) {
+                    steps.add(path);
+                } else if (p == 0) {
+                    steps.add(Integer.parseInt(path.substring(1, q)));
+                } else {
+                    steps.add(path.substring(0, p));
+                    steps.add(Integer.parseInt(path.substring(p + 1, q)));
+                    path = path.substring(q + 1);
+                    if (path.length() > 0 && path.charAt(0) == '[' && (q = path.indexOf(']')) > 0) {
+                        steps.add(Integer.parseInt(path.substring(1, q)));
+                    }
+                }
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return null;
+        }
+        return steps;
+    }
+
+    /**
+     * select the value at a path with a stream parser
+     * @return the value or null if the value cannot be selected this way
+     */
+    private static Object stream(byte[] b, String jsonPath, int limit) {
+        String[] dompath = jsonPath.split("\\.");
+        List<Object> steps = steps(dompath);
+        if (steps == null) return null;
+        boolean arrayOnly = dompath.length == 1; // the root path must point to an array
+        try (JsonParser parser = jsonFactory.createParser(b)) {
+            JsonToken token = parser.nextToken();
+            for (Object step: steps) {
+                if (step instanceof String) {
+                    if (token != JsonToken.START_OBJECT) return null;
+                    boolean found = false;
+                    while (!found && parser.nextToken() == JsonToken.FIELD_NAME) {
+                        found = step.equals(parser.getCurrentName());
+                        token = parser.nextToken();
+                        if (!found) parser.skipChildren();
+                    }
+                    if (!found) return null;
+                } else {
+                    if (token != JsonToken.START_ARRAY) return null;
+                    int index = (Integer) step;
+                    for (int i = 0; ; i++) {
+                        token = parser.nextToken();
+                        if (token == null || token == JsonToken.END_ARRAY) return null;
+                        if (i == index) break;
+                        parser.skipChildren();
+                    }
+                }
+            }
+            if (arrayOnly && token != JsonToken.START_ARRAY) return null;
+            return value(parser, token, limit);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * materialize the value at the current token of the parser; the values are the same as those of the JSONTokener
+     */
+    private static Object value(JsonParser parser, JsonToken token, int limit) throws IOException {
+        if (token == null) throw new JsonParseException(parser, "unexpected end of input");
+        switch (token) {
+        case START_OBJECT:
+            JSONObject object = new JSONObject(true);
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String key = parser.getCurrentName();
+                if (object.has(key)) throw new JsonParseException(parser, "Duplicate key \"" + key + "\"");
+                object.put(key, value(parser, parser.nextToken(), 0));
+            }
+            if (token != JsonToken.END_OBJECT) throw new JsonParseException(parser, "unexpected token " + token);
+            return object;
+        case START_ARRAY:
+            JSONArray array = new JSONArray();
+            while (limit <= 0 || array.length() < limit) {
+                token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) break;
+                array.put(value(parser, token, 0));
+            }
+            return array;
+        case VALUE_STRING:
+            return parser.getText();
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+            return JSONObject.stringToValue(parser.getText());
+        case VALUE_TRUE:
+            return Boolean.TRUE;
+        case VALUE_FALSE:
+            return Boolean.FALSE;
+        case VALUE_NULL:
+            return JSONObject.NULL;
+        default:
+            throw new JsonParseException(parser, "unexpected token " + token);
+        }
+    }
+
     private static void test(String json, String path) {
         JSONTokener tokener = new JSONTokener(json.trim());
         JSONArray array = parse(tokener, path);
@@ -24,6 +24,7 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.json.JSONArray;
@@ -122,16 +123,24 @@ public class SusiAction implements Cloneable {
         }
     }
 
-    private JSONObject json;
+    private final JSONObject json; // the declaration of the action; an instance shares it with its template and never changes it
+    private final boolean shared;  // true if this is an instance of a template
+    private JSONObject changes;    // the attributes which were set in an instance or null if nothing was set
 
     /**
      * Initialize an action using a json description.
      * This method is only used for the definition of intents, not for the production of answers.
      * The Exceptions are thrown for valiation purpose in case that the action declaration is not sound.
+     * The action takes the json as it is: the validation adds missing default attributes (like select and count)
+     * and the setters of the action write into it. Instances made with instance() share the json, including its
+     * nested values, and only read it; therefore the json of an intent action must not be changed once it was learned.
+     * If the json has an expression, the expression hides the phrases and the select attribute.
      * @param json the action declaration
      */
     public SusiAction(JSONObject json) throws SusiActionException {
         this.json = json;
+        this.shared = false;
+        this.changes = null;
         // check if the action is valid. If it is not valid, throw an exception
         // {"type":"answer","select":"random","phrases":["Here is the exact location of the event $2$"]}
         if (!json.has("type")) throw new SusiActionException("the action needs a type object");
@@ -256,13 +265,73 @@ public class SusiAction implements Cloneable {
         }
     }
 
+    /**
+     * Create an instance of an action which references the declaration of this action. Attributes which are set
+     * in the instance are stored only within the instance; the declaration is never changed and the instance
+     * is not validated again.
+     */
+    private SusiAction(JSONObject json, JSONObject changes, RenderType renderType) {
+        this.json = json;
+        this.shared = true;
+        this.changes = changes;
+        this.renderTypeCache = renderType;
+    }
+
+    /**
+     * Create an instance with the phrases and templates of the action it was made of.
+     * The phrases are shared as long as the instance does not set an expression or phrases.
+     */
+    private SusiAction(JSONObject json, JSONObject changes, RenderType renderType, ArrayList<String> phrases, List<SusiTemplate> templates) {
+        this(json, changes, renderType);
+        this.phrasesCache = phrases;
+        this.templatesCache = templates;
+    }
+
+    /**
+     * Make an instance of this action as template, to be instantiated with the data of an argument.
+     * The instance shares the declaration of this action, therefore this must only be used for
+     * declarations which are not changed any more, like the actions of a learned intent.
+     * Changes of the instance replace attribute values and never modify values of the declaration.
+     * @return a new instance which shares the declaration of this action
+     */
+    public SusiAction instance() {
+        return new SusiAction(this.json, this.changes == null ? null : copy(this.changes), this.getRenderType(), this.phrasesCache, this.templatesCache);
+    }
+
+    /**
+     * Make a copy of this action. Later changes of this action are not visible in the copy and changes of the
+     * copy are not visible in this action. An instance is copied by copying its changes; an action which was
+     * made from json writes into its json, therefore its json is copied.
+     * @return a copy of this action
+     */
     public SusiAction clone() {
+        if (!this.shared) return new SusiAction(copy(this.json), null, this.getRenderType(), this.phrasesCache, this.templatesCache);
+        return new SusiAction(this.json, this.changes == null ? null : copy(this.changes), this.getRenderType(), this.phrasesCache, this.templatesCache);
+    }
+
+    private static JSONObject copy(JSONObject json) {
         JSONObject j = new JSONObject(true);
-        this.json.keySet().forEach(key -> j.put(key, this.json.get(key)));
-        try {
-            return new SusiAction(j);
-        } catch (SusiActionException e) {
-            throw new RuntimeException(e.getMessage());
+        json.keySet().forEach(key -> j.put(key, json.get(key)));
+        return j;
+    }
+
+    /**
+     * get the object which holds the current value of an attribute
+     */
+    private JSONObject source(String attr) {
+        return this.changes != null && this.changes.has(attr) ? this.changes : this.json;
+    }
+
+    private void put(String attr, Object value) {
+        if (this.shared) {
+            if (this.changes == null) this.changes = new JSONObject(true);
+            this.changes.put(attr, value);
+        } else {
+            this.json.put(attr, value);
+        }
+        if ("expression".equals(attr) || "phrases".equals(attr)) {
+            this.phrasesCache = null;
+            this.templatesCache = null;
         }
     }
 
@@ -306,7 +375,7 @@ public class SusiAction implements Cloneable {
      */
     public RenderType getRenderType() {
         if (renderTypeCache == null) 
-            renderTypeCache = this.json.has("type") ? RenderType.valueOf(this.json.getString("type")) : null;
+            renderTypeCache = this.hasAttr("type") ? RenderType.valueOf(this.source("type").getString("type")) : null;
         return renderTypeCache;
     }
     private RenderType renderTypeCache = null;
@@ -340,10 +409,10 @@ public class SusiAction implements Cloneable {
         if (phrasesCache == null) {
             ArrayList<String> a = new ArrayList<>();
             // actions may have either a single expression "expression" or a phrases object with 
-            if (this.json.has("expression")) {
-                a.add(this.json.getString("expression"));
-            } else if (this.json.has("phrases")) {
-                this.json.getJSONArray("phrases").forEach(p -> a.add((String) p));
+            if (this.hasAttr("expression")) {
+                a.add(this.source("expression").getString("expression"));
+            } else if (this.hasAttr("phrases")) {
+                this.source("phrases").getJSONArray("phrases").forEach(p -> a.add((String) p));
             } else return null;
             phrasesCache = a;
         }
@@ -351,12 +420,34 @@ public class SusiAction implements Cloneable {
     }
     private ArrayList<String> phrasesCache = null;
 
+    /**
+     * The phrases compiled to templates. The templates are compiled once when the intent is learned;
+     * instances of the action share them with the action declaration.
+     * @return the compiled phrases or null if the action has no phrases
+     */
+    public List<SusiTemplate> getTemplates() {
+        if (templatesCache == null) {
+            ArrayList<String> phrases = this.getPhrases();
+            if (phrases == null) return null;
+            List<SusiTemplate> t = new ArrayList<>(phrases.size());
+            phrases.forEach(phrase -> t.add(new SusiTemplate(phrase)));
+            templatesCache = t;
+        }
+        return templatesCache;
+    }
+    private List<SusiTemplate> templatesCache = null;
+
     public boolean isSabta() {
-        return this.json.has("mood") && "sabta".equals(this.json.getString("mood"));
+        return this.hasAttr("mood") && "sabta".equals(this.source("mood").getString("mood"));
     }
 
     public boolean hasAttr(String attr) {
-        return this.json.has(attr);
+        if (("phrases".equals(attr) || "select".equals(attr)) && hasOwnAttr("expression")) return false; // an expression hides the phrases
+        return hasOwnAttr(attr);
+    }
+
+    private boolean hasOwnAttr(String attr) {
+        return (this.changes != null && this.changes.has(attr)) || this.json.has(attr);
     }
 
     /**
@@ -365,11 +456,11 @@ public class SusiAction implements Cloneable {
      * @return the action string
      */
     public String getStringAttr(String attr) {
-        return this.json.has(attr) ? this.json.getString(attr) : "";
+        return this.hasAttr(attr) ? this.source(attr).getString(attr) : "";
     }
 
     public SusiAction setStringAttr(String attr, String value) {
-        this.json.put(attr, value);
+        this.put(attr, value);
         return this;
     }
 
@@ -379,20 +470,20 @@ public class SusiAction implements Cloneable {
      * @return the integer number
      */
     public int getIntAttr(String attr) {
-        return this.json.has(attr) ? this.json.getInt(attr) : 0;
+        return this.hasAttr(attr) ? this.source(attr).getInt(attr) : 0;
     }
 
     public long getLongAttr(String attr) {
-        return this.json.has(attr) ? this.json.getLong(attr) : 0L;
+        return this.hasAttr(attr) ? this.source(attr).getLong(attr) : 0L;
     }
 
     public SusiAction setIntAttr(String attr, int value) {
-        this.json.put(attr, value);
+        this.put(attr, value);
         return this;
     }
 
     public SusiAction setLongAttr(String attr, long value) {
-        this.json.put(attr, value);
+        this.put(attr, value);
         return this;
     }
 
@@ -416,8 +507,8 @@ public class SusiAction implements Cloneable {
      * @return the json structure of the action
      */
     public JSONObject toJSONClone() {
-        JSONObject j = new JSONObject(true);
-        this.json.keySet().forEach(key -> j.put(key, this.json.get(key))); // make a clone
+        JSONObject j = copy(this.json); // make a clone
+        if (this.changes != null) this.changes.keySet().forEach(key -> j.put(key, this.changes.get(key)));
         if (j.has("expression")) {
             j.remove("phrases");
             j.remove("select");
@@ -48,6 +48,7 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
     private final ClientIdentity identity;
     private final SusiLanguage language;
     private final SusiMind[] minds;
+    private SusiReflectionMemo memo;
 
     // working data
     private final ArrayList<SusiThought> recall;
@@ -60,12 +61,14 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
         this.identity = identity;
         this.language = language;
         this.minds = minds;
+        this.memo = null;
         this.recall = new ArrayList<>();
         this.skills = new LinkedHashMap<>();
     }
 
     public SusiArgument clone() {
         SusiArgument c = new SusiArgument(this.identity, this.language, this.minds);
+        c.memo = this.memo;
         this.recall.forEach(thought -> c.recall.add(thought));
         this.skills.forEach((skill, line) -> c.skills.put(skill, line));
         return c;
@@ -83,6 +86,21 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
         return this.minds;
     }
 
+    /**
+     * set the reflection memo; this should be the memo of the request where this argument is computed
+     * @param memo
+     * @return the argument
+     */
+    public SusiArgument setReflectionMemo(SusiReflectionMemo memo) {
+        this.memo = memo;
+        return this;
+    }
+
+    public SusiReflectionMemo getReflectionMemo() {
+        if (this.memo == null) this.memo = new SusiReflectionMemo();
+        return this.memo;
+    }
+
     /**
      * Get an impression of time which elapsed since the start of reasoning in this argument.
      * This uses the idea that 'time' is not a physical effect but simply the result of a delta operation
@@ -211,12 +229,23 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
     public LinkedHashSet<String> unify(String statement, int max) {
         assert statement != null;
         if (statement == null) return null; // this should not happen
+        return unify(new SusiTemplate(statement), max);
+    }
+
+    /**
+     * Unification of a compiled statement
+     * @param template the compiled statement
+     * @param max the maximum number of instantiations
+     * @return the instantiated statement with elements of the argument applied
+     */
+    public LinkedHashSet<String> unify(SusiTemplate template, int max) {
+        String statement = template.getText();
         boolean urlencode = statement.startsWith("http://") || statement.startsWith("https://");
-        
+
         // initialize collection
         LinkedHashSet<String> s_com = new LinkedHashSet<>(); // completely instantiated
-        LinkedHashSet<String> s_inc = new LinkedHashSet<>(); // partly instantiated
-        if (SusiThought.hasVariablePattern(statement)) s_inc.add(statement); else s_com.add(statement);
+        LinkedHashSet<SusiTemplate> s_inc = new LinkedHashSet<>(); // partly instantiated
+        if (SusiThought.hasVariablePattern(statement)) s_inc.add(template); else s_com.add(statement);
         
         // explore the past
         pastsearch: for (SusiThought t: this) {
@@ -224,12 +253,13 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
             // this uses our iterator which iterates in reverse order.
             // That means, latest thought is first returned.
             // It also means that we are exploring the past, most recent events first.
-            LinkedHashSet<String> ix = new LinkedHashSet<>(); // next instances
+            LinkedHashSet<SusiTemplate> ix = new LinkedHashSet<>(); // next instances
             // work through all already partly instantiated statements
-            for (String i: s_inc) {
+            for (SusiTemplate i: s_inc) {
                 String[] nextStatements = t.unify(i, Integer.MAX_VALUE, true, urlencode);
                 for (String s: nextStatements) {
-                    if (SusiThought.hasVariablePattern(s)) ix.add(s); else s_com.add(s);
+                    // an unchanged statement keeps its compiled template
+                    if (SusiThought.hasVariablePattern(s)) ix.add(s.equals(i.getText()) ? i : new SusiTemplate(s)); else s_com.add(s);
                     if (s_com.size() >= max) break pastsearch;
                 }
             }
@@ -283,13 +313,15 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
         SusiThought deducedThought = new SusiThought();
         if (action.getRenderType() == RenderType.answer && action.hasAttr("phrases")) {
             // transform the answer according to the data
-            ArrayList<String> a = action.getPhrases();
-            String expression = a.get(random.nextInt(a.size()));
-
-            boolean unificationSuccess = true;
-            boolean visibleAssignmentSuccess = true;
-            boolean invisibleAssignmentSuccess = true;
-            boolean reflectionSuccess = true;
+            List<SusiTemplate> a = action.getTemplates();
+            SusiTemplate template = a.get(random.nextInt(a.size()));
+            String expression = template.getText();
+
+            // a literal phrase (without variables, assignments and reflections) is the expression as it is
+            boolean unificationSuccess = !template.isLiteral();
+            boolean visibleAssignmentSuccess = unificationSuccess;
+            boolean invisibleAssignmentSuccess = unificationSuccess;
+            boolean reflectionSuccess = unificationSuccess;
             Matcher m;
 
             while (unificationSuccess || visibleAssignmentSuccess || invisibleAssignmentSuccess || reflectionSuccess) {
@@ -298,38 +330,45 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
                 // this prepares reflection elements to be instantiated before the reflection is called
                 unificationSuccess = false;
                 if (expression.indexOf('$') >= 0) {
-                    String unification = this.unify(expression);
-                    if (unification == null) throw new ReactionException("expression '" + expression + "' cannot be unified with thoughts");
+                    // the phrase is compiled already; later expressions are the result of unifications and reflections
+                    LinkedHashSet<String> unifications = this.unify(template != null ? template : new SusiTemplate(expression), 1);
+                    if (unifications.size() == 0) throw new ReactionException("expression '" + expression + "' cannot be unified with thoughts");
                     unificationSuccess = true;
-                    expression = unification;
+                    expression = unifications.iterator().next();
                 }
+                template = null;
 
                 // assignments: set variables from the result expressions.
                 // These can be a visible assignment or an invisible assignment
                 // assignment must be done in advance of reflections
                 // because the reflection may use the assigned variables.
+                // both kinds of assignments need a '>', so the matchers are only applied if the expression has one
                 visibleAssignmentSuccess = false;
-                TimeoutMatcher tm = new TimeoutMatcher(m = SusiAction.visible_assignment.matcher(expression));
-                visibleAssignment: while (tm.find()) {
-                    String observation = m.group(1);
-                    if (observation.indexOf('$') > 0 || observation.indexOf('`') > 0) continue visibleAssignment;  // there is a unmatched variable or unresolved reflection in the value
-                    String variable = m.group(2);
-                    expression = expression.substring(0, m.end(1)) + expression.substring(m.end(2));
-                    // write the variable v as side-effect into the thoughts argument
-                    deducedThought.addObservation(variable, observation);
-                    visibleAssignmentSuccess = true;
-                }
-
                 invisibleAssignmentSuccess = false;
-                tm = new TimeoutMatcher(m = SusiAction.blind_assignment.matcher(expression));
-                invisibleAssignment: while (tm.find()) {
-                    String observation = m.group(1);
-                    if (observation.indexOf('$') > 0 || observation.indexOf('`') > 0) continue invisibleAssignment;  // there is a unmatched variable or unresolved reflection in the value
-                    String variable = m.group(2);
-                    expression = expression.substring(0, m.start(1) - 1) + expression.substring(m.end(2));
-                    // write the variable v as side-effect into the thoughts argument
-                    deducedThought.addObservation(variable, observation);
-                    invisibleAssignmentSuccess = true;
+                if (expression.indexOf('>') >= 0) {
+                    TimeoutMatcher tm = new TimeoutMatcher(SusiAction.visible_assignment, expression);
+                    m = tm.matcher();
+                    visibleAssignment: while (tm.find()) {
+                        String observation = m.group(1);
+                        if (observation.indexOf('$') > 0 || observation.indexOf('`') > 0) continue visibleAssignment;  // there is a unmatched variable or unresolved reflection in the value
+                        String variable = m.group(2);
+                        expression = expression.substring(0, m.end(1)) + expression.substring(m.end(2));
+                        // write the variable v as side-effect into the thoughts argument
+                        deducedThought.addObservation(variable, observation);
+                        visibleAssignmentSuccess = true;
+                    }
+
+                    tm = new TimeoutMatcher(SusiAction.blind_assignment, expression);
+                    m = tm.matcher();
+                    invisibleAssignment: while (tm.find()) {
+                        String observation = m.group(1);
+                        if (observation.indexOf('$') > 0 || observation.indexOf('`') > 0) continue invisibleAssignment;  // there is a unmatched variable or unresolved reflection in the value
+                        String variable = m.group(2);
+                        expression = expression.substring(0, m.start(1) - 1) + expression.substring(m.end(2));
+                        // write the variable v as side-effect into the thoughts argument
+                        deducedThought.addObservation(variable, observation);
+                        invisibleAssignmentSuccess = true;
+                    }
                 }
 
                 // reflection: evaluate contents from the answers expressions as recursion.
@@ -393,19 +432,8 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
             while ((m = appropriateReflectionMatcher(expression)) != null) {
                 String observation = m.group(1);
                 if (observation.indexOf('>') > 0) continue;  // there is an assignment in the value
-                SusiMind.Reaction reaction = null;
-                ReactionException ee = null;
                 SusiThought mindstate = argument.mindmeld(true);
-                mindlevels: for (SusiMind mind: argument.getMinds()) {
-                    try {
-                        reaction = mind.new Reaction(observation, argument.getLanguage(), argument.getClientIdentity(), false, mindstate, argument.getMinds());
-                        break mindlevels;
-                    } catch (ReactionException e) {
-                        ee = e;
-                        continue mindlevels;
-                    }
-                }
-                if (reaction == null) throw ee == null ? new ReactionException("could not find an answer") : ee;
+                SusiMind.Reaction reaction = argument.getReflectionMemo().reflect(observation, argument.getLanguage(), argument.getClientIdentity(), mindstate, argument.getMinds());
                 this.deducedThought = reaction.getMindstate();
                 this.reactionActions = new ArrayList<>();
                 for (SusiAction reactionAction: reaction.getActions()) {
@@ -487,6 +515,22 @@ public class SusiArgument implements Iterable<SusiThought>, Cloneable {
         }
         // the 'applyAction' method has a possible side-effect on the argument - it can append objects to it
         // therefore the mindmeld must be done after action application to get those latest changes
+        return meld(appliedActions, debug, mind);
+    }
+
+    /**
+     * Compute a finding with actions which had been applied before. This is only valid for static intents:
+     * the application of their actions does not depend on the argument and does not produce data.
+     * @param appliedActions the applied actions of a previous finding with the same intent
+     * @return the answer
+     */
+    public SusiThought finding(ClientIdentity identity, SusiLanguage language, boolean debug, JSONArray appliedActions, SusiMind... mind) {
+        // every action application produces an (empty) thought, these count for the perception of time
+        for (int i = 0; i < appliedActions.length(); i++) this.think(new SusiThought());
+        return meld(appliedActions, debug, mind);
+    }
+
+    private SusiThought meld(JSONArray appliedActions, boolean debug, SusiMind... mind) {
         SusiThought answer = this.mindmeld(true);
         answer.overwriteAppliedActions(appliedActions); // this overwrites the result of the mindmeld
         this.skills.forEach((skill, line) -> answer.addSkill(skill.getPath()));
@@ -40,6 +40,7 @@ import ai.susi.mind.SusiAction.SusiActionException;
 import ai.susi.server.APIException;
 import ai.susi.server.Authorization;
 import ai.susi.server.Query;
+import ai.susi.tools.Digest;
 import ai.susi.tools.EtherpadClient;
 import ai.susi.tools.IO;
 import ai.susi.tools.OnlineCaution;
@@ -137,11 +138,8 @@ public class SusiFace implements Callable<SusiCognition> {
 
         DAO.observe(); // get a database update
 
-        // compute a recall
-        ArrayList<SusiThought> recalls = new ArrayList<>();
-        List<SusiCognition> cognitions = DAO.susi_memory.getCognitions(user.getIdentity().getClient(), true);
-        cognitions.forEach(cognition -> recalls.add(cognition.recallDispute()));
-        SusiThought recall = SusiArgument.mindmeld(recalls, false);
+        // get the recall; this is maintained by the identity of the user
+        SusiThought recall = DAO.susi_memory.getMemory(user.getIdentity().getClient(), true).getRecallMindmeld();
 
         // now that we have a recall, use it to set the dream/persona
         if (dream == null || dream.length() == 0) {
@@ -168,13 +166,17 @@ public class SusiFace implements Callable<SusiCognition> {
         // instant dreams
         if (instant != null && instant.length() > 0) try {
             instant = instant.replaceAll("\\\\n", "\n"); // yes, the number of "\" is correct
-            // fill an empty mind with the skilltext
-            SusiMind instantMind = new SusiMind(DAO.susi_memory); // we need the memory directory here to get a share on the memory of previous dialoges, otherwise we cannot test call-back questions
-            SusiSkill.ID skillid = new SusiSkill.ID(SusiLanguage.unknown, "instant");
-            SusiSkill skill = new SusiSkill(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(instant.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)), skillid, true);
-            instantMind.learn(skill, skillid, true);
-            SusiSkill activeskill = instantMind.getSkillMetadata().get(skillid);
-            instantMind.setActiveSkill(activeskill);
+            final String text = instant;
+            SusiMind instantMind = cachedMind("instant\n" + Digest.encodeMD5Hex(text), text.getBytes(StandardCharsets.UTF_8).length, () -> {
+                // fill an empty mind with the skilltext
+                SusiMind mind = new SusiMind(DAO.susi_memory); // we need the memory directory here to get a share on the memory of previous dialoges, otherwise we cannot test call-back questions
+                SusiSkill.ID skillid = new SusiSkill.ID(SusiLanguage.unknown, "instant");
+                SusiSkill skill = new SusiSkill(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)), skillid, true);
+                mind.learn(skill, skillid, true);
+                SusiSkill activeskill = mind.getSkillMetadata().get(skillid);
+                mind.setActiveSkill(activeskill);
+                return mind;
+            });
             minds.add(instantMind);
         } catch (IOException | JSONException | SusiActionException e) {
             DAO.severe(e.getMessage(), e);
@@ -200,19 +202,26 @@ public class SusiFace implements Callable<SusiCognition> {
         // on-skills: if a user has switched on a skill with "run skill" of a skill which has the "on"-property
         if (focus != null && focus.length() > 0) try {
 
-            SusiMind focusMind = new SusiMind(DAO.susi_memory);
-            Set<SusiSkill> focus_skills = DAO.susi.getFocusSkills(focus);
+            // the focus skills belong to one generation of the general mind
+            SusiMindGeneration generation = DAO.susi.getGeneration();
+            Set<SusiSkill> focus_skills = generation.getFocusSkills(focus);
             if (focus_skills == null || focus_skills.isEmpty()) {
                 DAO.log("tried to load non-existing focus skill " + focus);
             } else {
-                for (SusiSkill focus_skill: focus_skills) {
-                    String originpath = focus_skill.getID().getPath();
-                    SusiSkill.ID skillid = new SusiSkill.ID(susi_language, originpath);
-                    focusMind.learn(focus_skill, skillid, true);
-                    minds.add(focusMind);
-                }
+                long weight = 0;
+                for (SusiSkill focus_skill: focus_skills) weight += focus_skill.getIntents().size() * FOCUS_INTENT_WEIGHT;
+                SusiMind focusMind = cachedMind("focus\n" + focus.toLowerCase() + "\n" + susi_language.name() + "\n" + generation.getGeneration(), weight, () -> {
+                    SusiMind mind = new SusiMind(DAO.susi_memory);
+                    for (SusiSkill focus_skill: focus_skills) {
+                        String originpath = focus_skill.getID().getPath();
+                        SusiSkill.ID skillid = new SusiSkill.ID(susi_language, originpath);
+                        mind.learn(focus_skill, skillid, true);
+                    }
+                    return mind;
+                });
+                minds.add(focusMind);
             }
-        } catch (JSONException e) {
+        } catch (JSONException | IOException | SusiActionException e) {
             DAO.severe(e.getMessage(), e);
         }
 
@@ -254,17 +263,21 @@ public class SusiFace implements Callable<SusiCognition> {
             }
             // read the persona
             if (skillfile != null) {
-                String text = new String(Files.readAllBytes(skillfile.toPath()), StandardCharsets.UTF_8);
-                // in case that the text contains a "*" we are in danger that we cannot sleep again, therefore we simply add the stop rule here to the text
-                text = text + "\n\n* conscious mode|* conscious|conscious *\n$1$>_persona_awake is now conscious\n\nsleep|forget yourself|no yourself|unconscious|unconscious mode|That's enough|* dreamless slumber|Freeze|Cease * functions\nPersona will sleep now. Unconscious state activated.^^>_persona_awake\n\n";
-
-                // fill an empty mind with the dream
-                SusiMind awakeMind = new SusiMind(DAO.susi_memory); // we need the memory directory here to get a share on the memory of previous dialoges, otherwise we cannot test call-back questions
-                SusiSkill.ID skillid = new SusiSkill.ID(SusiLanguage.unknown, skillfile.getName());
-                SusiSkill skill = new SusiSkill(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)), skillid, false);
-                awakeMind.learn(skill, skillid, true);
-                SusiSkill activeskill = awakeMind.getSkillMetadata().get(skillid);
-                awakeMind.setActiveSkill(activeskill);
+                final File f = skillfile;
+                SusiMind awakeMind = cachedMind(SusiMindCache.fileKey("skill", f), f.length(), () -> {
+                    String text = new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+                    // in case that the text contains a "*" we are in danger that we cannot sleep again, therefore we simply add the stop rule here to the text
+                    text = text + "\n\n* conscious mode|* conscious|conscious *\n$1$>_persona_awake is now conscious\n\nsleep|forget yourself|no yourself|unconscious|unconscious mode|That's enough|* dreamless slumber|Freeze|Cease * functions\nPersona will sleep now. Unconscious state activated.^^>_persona_awake\n\n";
+
+                    // fill an empty mind with the dream
+                    SusiMind mind = new SusiMind(DAO.susi_memory); // we need the memory directory here to get a share on the memory of previous dialoges, otherwise we cannot test call-back questions
+                    SusiSkill.ID skillid = new SusiSkill.ID(SusiLanguage.unknown, f.getName());
+                    SusiSkill skill = new SusiSkill(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)), skillid, false);
+                    mind.learn(skill, skillid, true);
+                    SusiSkill activeskill = mind.getSkillMetadata().get(skillid);
+                    mind.setActiveSkill(activeskill);
+                    return mind;
+                });
                 // we are awake!
                 minds.add(awakeMind);
             }
@@ -287,6 +300,23 @@ public class SusiFace implements Callable<SusiCognition> {
         return cognition;
     }
 
+    // the estimated weight of one intent of a focus skill in the mind cache; the weight of other minds is the length of the skill text
+    private final static long FOCUS_INTENT_WEIGHT = 256;
+
+    /**
+     * get an ephemeral mind from the mind cache or compile it if it is not cached
+     * @param key the key of the mind in the cache
+     * @param weight the estimated size of the mind
+     * @param compiler the compiler of the mind
+     * @return the mind
+     * @throws IOException
+     * @throws SusiActionException
+     */
+    private static SusiMind cachedMind(String key, long weight, SusiMindCache.Compiler compiler) throws IOException, SusiActionException {
+        SusiMindCache cache = DAO.susi_minds;
+        return cache == null ? compiler.compile() : cache.get(key, weight, compiler);
+    }
+
     public static SusiMind getLocalSusiDream() {
         return getDream("susi", null, false);
     }
@@ -309,13 +339,17 @@ public class SusiFace implements Callable<SusiCognition> {
                 text = text + "\n\ndream *\nI am currently dreaming $_etherpad_dream$, first wake up before dreaming again\n\n";
             }
             // fill an empty mind with the dream
-            SusiMind dreamMind = new SusiMind(DAO.susi_memory); // we need the memory directory here to get a share on the memory of previous dialoges, otherwise we cannot test call-back questions
-            SusiSkill.ID skillid = new SusiSkill.ID(susi_language, dream);
-            SusiSkill skill = new SusiSkill(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)), skillid, true);
-            dreamMind.learn(skill, skillid, true);
-            SusiSkill activeskill = dreamMind.getSkillMetadata().get(skillid);
-            dreamMind.setActiveSkill(activeskill);
-            return dreamMind;
+            final String skilltext = text;
+            final SusiLanguage language = susi_language;
+            return cachedMind("dream\n" + dream + "\n" + language.name() + "\n" + Digest.encodeMD5Hex(skilltext), skilltext.getBytes(StandardCharsets.UTF_8).length, () -> {
+                SusiMind dreamMind = new SusiMind(DAO.susi_memory); // we need the memory directory here to get a share on the memory of previous dialoges, otherwise we cannot test call-back questions
+                SusiSkill.ID skillid = new SusiSkill.ID(language, dream);
+                SusiSkill skill = new SusiSkill(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(skilltext.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)), skillid, true);
+                dreamMind.learn(skill, skillid, true);
+                SusiSkill activeskill = dreamMind.getSkillMetadata().get(skillid);
+                dreamMind.setActiveSkill(activeskill);
+                return dreamMind;
+            });
         } catch (JSONException | IOException | SusiActionException e) {
             // ignore silently if pad is not available
             DAO.severe(e.getMessage(), e);
@@ -22,6 +22,9 @@ package ai.susi.mind;
 import java.util.LinkedHashSet;
 import java.util.regex.PatternSyntaxException;
 
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
 import ai.susi.DAO;
 import ai.susi.mind.SusiPattern.SusiMatcher;
 import ai.susi.server.ClientIdentity;
@@ -36,6 +39,7 @@ public class SusiIdea {
 
     private SusiIntent intent;
     private LinkedHashSet<SusiMatcher> matchers;
+    private String keynote; // a serialized keynote which replaces the matchers
 
     /**
      * create an idea based on a intent
@@ -45,6 +49,7 @@ public class SusiIdea {
     public SusiIdea(SusiIntent intent) throws PatternSyntaxException {
         this.intent = intent;
         this.matchers = null;
+        this.keynote = null;
     }
 
     public SusiIntent getIntent() {
@@ -62,6 +67,21 @@ public class SusiIdea {
         return this;
     }
 
+    public LinkedHashSet<SusiMatcher> getMatchers() {
+        return this.matchers;
+    }
+
+    /**
+     * Set a keynote to an idea. This is the data that a matcher would produce; it is used
+     * instead of the matchers if the idea is re-created from a previous reaction on the same query.
+     * @param keynote the serialized keynote thought
+     * @return the idea
+     */
+    public SusiIdea setKeynote(String keynote) {
+        this.keynote = keynote;
+        return this;
+    }
+
     /**
      * Generate a proof that the idea is correct!
      * Several intents can be candidates for answer computation. Each of such an intent is expressed as
@@ -80,41 +100,70 @@ public class SusiIdea {
             ClientIdentity identity,
             SusiLanguage userLanguage,
             SusiMind... minds) {
+        return consideration(recall, identity, userLanguage, new SusiReflectionMemo(), minds);
+    }
 
-        // that argument is filled with an idea which consist of the query where we extract the identified data entities
-        if (this.matchers != null) alternatives: for (SusiMatcher matcher: this.matchers) {
-
-            // initialize keynote (basic data for unification) for flow
-            SusiThought keynote = new SusiThought(matcher);
+    /**
+     * Generate a proof that the idea is correct, using a reflection memo of the current request
+     * @param memo the reflection memo which is used for reflections within the argument
+     */
+    public SusiArgument consideration(
+            SusiThought recall,
+            ClientIdentity identity,
+            SusiLanguage userLanguage,
+            SusiReflectionMemo memo,
+            SusiMind... minds) {
 
-            // we deduced thoughts from the inferences in the intents. The keynote also carries these actions
-            this.intent.getActionsClone().forEach(action -> keynote.addAction(action));
+        // an idea from the answer cache carries a keynote which was computed before
+        if (this.keynote != null) {
+            return consideration(new SusiThought(new JSONObject(new JSONTokener(this.keynote))), recall, identity, userLanguage, memo, minds);
+        }
 
-            DAO.log("Susi has an idea: on " + keynote.toString() + " apply " + this.intent.toJSON());
-            // we start with the recall from previous interactions as new flow
-            final SusiArgument flow = new SusiArgument(identity, userLanguage, minds) // empty flow
-                    .think(recall)   // the past
-                    .think(keynote); // the idea, including actions (also: the "now")
+        // that argument is filled with an idea which consist of the query where we extract the identified data entities
+        if (this.matchers != null) for (SusiMatcher matcher: this.matchers) {
+            // initialize keynote (basic data for unification) for flow
+            SusiArgument flow = consideration(new SusiThought(matcher), recall, identity, userLanguage, memo, minds);
+            if (flow != null) return flow;
+            // in case that we are stuck we consider the next alternative matcher
+        }
+        // fail, no alternative was successful
+        return null;
+    }
 
-            // lets apply the intents that belong to this specific consideration
-            for (SusiInference inference: this.intent.getInferences()) {
-                SusiThought implication = inference.applyProcedures(flow);
-                DAO.log("Susi is thinking about: " + implication.toString());
-                // make sure that we are not stuck:
-                // in case that we are stuck (== no progress was made) we consider the next alternative matcher
-                if (implication.isFailed() || flow.mindstate().equals(implication)) continue alternatives; // TODO: do this only if specific marker is in intent
+    private SusiArgument consideration(
+            SusiThought keynote,
+            SusiThought recall,
+            ClientIdentity identity,
+            SusiLanguage userLanguage,
+            SusiReflectionMemo memo,
+            SusiMind... minds) {
 
-                // think
-                flow.think(implication); // the future
-            }
+        // we deduced thoughts from the inferences in the intents. The keynote also carries these actions
+        this.intent.getActionsClone().forEach(action -> keynote.addAction(action));
+
+        DAO.log("Susi has an idea: on " + keynote.toString() + " apply " + this.intent.toJSON());
+        // we start with the recall from previous interactions as new flow
+        final SusiArgument flow = new SusiArgument(identity, userLanguage, minds) // empty flow
+                .setReflectionMemo(memo)
+                .think(recall)   // the past
+                .think(keynote); // the idea, including actions (also: the "now")
+
+        // lets apply the intents that belong to this specific consideration
+        for (SusiInference inference: this.intent.getInferences()) {
+            SusiThought implication = inference.applyProcedures(flow);
+            DAO.log("Susi is thinking about: " + implication.toString());
+            // make sure that we are not stuck:
+            // in case that we are stuck (== no progress was made) the caller considers the next alternative matcher
+            if (implication.isFailed() || flow.mindstate().equals(implication)) return null; // TODO: do this only if specific marker is in intent
+
+            // think
+            flow.think(implication); // the future
+        }
 
-            // add skill source
-            flow.addSkill(this.intent.getSkillID(), this.intent.getUtterances().iterator().next().getLine());
+        // add skill source
+        flow.addSkill(this.intent.getSkillID(), this.intent.getUtterances().iterator().next().getLine());
 
-            return flow;
-        }
-        // fail, no alternative was successful
-        return null;
+        return flow;
     }
 
     @Override
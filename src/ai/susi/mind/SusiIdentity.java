@@ -22,6 +22,7 @@ package ai.susi.mind;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import ai.susi.DAO;
@@ -37,6 +38,10 @@ import ai.susi.DAO;
  * Awareness using an attention dimension means that certain entities of the memory
  * are lost after a given time. Time is defined here by the number of cognitions that
  * the identity stores.
+ *
+ * The recall of an identity is the list of thoughts which are reconstructed from the cognitions in the awareness.
+ * It is computed once and then updated with every new cognition, so a reaction does not need to parse
+ * all cognitions again.
  */
 public class SusiIdentity {
 
@@ -44,6 +49,8 @@ public class SusiIdentity {
     private SusiAwareness short_term_memory;
     private SusiSkillFile long_term_memory;
     private int attention;
+    private volatile List<SusiThought> recall;       // the recalled disputes of the cognitions, latest first; null if not computed yet
+    private volatile SusiThought recallMindmeld;     // the mindmeld of the recall; null if not computed yet
 
     /**
      * Create a new identity.
@@ -57,6 +64,8 @@ public class SusiIdentity {
      */
     public SusiIdentity(File memorypath, int attention) {
         this.attention = attention;
+        this.recall = null;
+        this.recallMindmeld = null;
 
         // initialize short term memory
         this.short_term_memory = new SusiAwareness();
@@ -94,8 +103,19 @@ public class SusiIdentity {
      * @return self
      */
     public SusiIdentity add(SusiCognition cognition) throws IOException {
-        this.short_term_memory.learn(cognition);
-        this.short_term_memory.limitAwareness(this.attention);
+        synchronized (this) {
+            this.short_term_memory.learn(cognition);
+            List<SusiCognition> forgotten = this.short_term_memory.limitAwareness(this.attention);
+            // update the recall: the new cognition is first, the forgotten cognitions were last
+            List<SusiThought> r = this.recall;
+            if (r != null) {
+                List<SusiThought> next = new ArrayList<>(r.size() + 1);
+                next.add(cognition.recallDispute());
+                next.addAll(r.subList(0, Math.max(0, r.size() - forgotten.size())));
+                this.recall = Collections.unmodifiableList(next);
+            }
+            this.recallMindmeld = null;
+        }
         cognition.appendToFile(this.short_term_memory_file);
         return this;
     }
@@ -130,4 +150,35 @@ public class SusiIdentity {
         return cognitions;
     }
 
+    /**
+     * Get the recall of the current awareness: the thoughts which are reconstructed from the cognitions.
+     * The thoughts are shared by all reactions and must not be changed.
+     * @return a list of thoughts, latest first
+     */
+    public List<SusiThought> getRecall() {
+        List<SusiThought> r = this.recall;
+        if (r != null) return r;
+        synchronized (this) {
+            if (this.recall == null) {
+                List<SusiThought> disputes = new ArrayList<>();
+                this.short_term_memory.forEach(cognition -> disputes.add(cognition.recallDispute()));
+                this.recall = Collections.unmodifiableList(disputes);
+            }
+            return this.recall;
+        }
+    }
+
+    /**
+     * Get the mindmeld of the recall. The thought is shared and must not be changed.
+     * @return the recall squashed into one thought
+     */
+    public SusiThought getRecallMindmeld() {
+        SusiThought m = this.recallMindmeld;
+        if (m != null) return m;
+        synchronized (this) {
+            if (this.recallMindmeld == null) this.recallMindmeld = SusiArgument.mindmeld(new ArrayList<>(getRecall()), false);
+            return this.recallMindmeld;
+        }
+    }
+
 }
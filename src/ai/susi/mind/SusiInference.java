@@ -20,8 +20,6 @@
 package ai.susi.mind;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -30,10 +28,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
-
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -71,7 +65,7 @@ public class SusiInference {
     }
 
     private JSONObject json;
-    private static final ScriptEngine javascript =  new ScriptEngineManager().getEngineByName("nashorn");
+    private static SusiScriptPool javascript = null;
 
     /**
      * Instantiate an inference with the inference description. The description should usually contain two
@@ -232,17 +226,7 @@ public class SusiInference {
                 break;
             }
             try {
-                StringWriter stdout = new StringWriter();
-                javascript.getContext().setWriter(new PrintWriter(stdout));
-                javascript.getContext().setErrorWriter(new PrintWriter(stdout));
-                Object o;
-                try {
-                    o = javascript.eval(term);
-                } catch (ScriptException e) {
-                    o = e.getMessage();
-                }
-                String bang = o == null ? "" : o.toString().trim();
-                if (bang.length() == 0) bang = stdout.getBuffer().toString().trim();
+                String bang = getJavascript().eval(term);
                 return new SusiThought().addObservation("!", bang);
             } catch (Throwable ee) {
                 DAO.severe(ee);
@@ -281,6 +265,27 @@ public class SusiInference {
         // - cut (to stop backtracking)
     }
 
+    /**
+     * get the pool of javascript engines; it is created with the first javascript inference
+     * @return the pool
+     */
+    private static synchronized SusiScriptPool getJavascript() {
+        if (javascript == null) {
+            javascript = new SusiScriptPool(
+                    (int) DAO.getConfig("susi.javascript.engines", (long) Runtime.getRuntime().availableProcessors()),
+                    DAO.getConfig("susi.javascript.timeout", 3000L),
+                    (int) DAO.getConfig("susi.javascript.cache", 1000L));
+        }
+        return javascript;
+    }
+
+    /**
+     * @return the statistics of the javascript engine pool or an empty object if no javascript was evaluated yet
+     */
+    public static synchronized JSONObject getJavascriptStatistics() {
+        return javascript == null ? new JSONObject(true) : javascript.getStatistics();
+    }
+
     /**
      * "see" defines a new thought based on the names given in the "transferExpr" and retrieved using the content of
      * a variable in the "expr" expression using a matching in the given pattern. It can be used to check if something
@@ -298,9 +303,10 @@ public class SusiInference {
         // example: see $1$ as idea from ""
         SusiThought nextThought = new SusiThought();
         try {
-            Matcher m = pattern.matcher(flow.unify(expr));
+            TimeoutMatcher tm = new TimeoutMatcher(pattern, flow.unify(expr));
+            Matcher m = tm.matcher();
             int gc = -1;
-            if (new TimeoutMatcher(m).matches()) {
+            if (tm.matches()) {
                 SusiTransfer transfer = new SusiTransfer(transferExpr);
                 JSONObject choice = new JSONObject();
                 if ((gc = m.groupCount()) > 0) {
@@ -385,14 +391,14 @@ public class SusiInference {
                     Response httpresponse = null;
                     JSONArray data = new JSONArray();
                     try {
-                        httpresponse = new Response(url, request_header);
+                        httpresponse = ConsoleService.loadResponse(url, request_header, definition);
                     } catch (IOException e) {
                         DAO.log("no response from API: " + url);
                     }
 
                     byte[] b = httpresponse == null ? null : httpresponse.getData();
                     if (b != null && path != null) try {
-                        data = JsonPath.parse(b, path);
+                        data = JsonPath.parse(b, path, definition.optInt("limit", 0));
                     } catch (JSONException e) {
                         DAO.log("JSON data from API cannot be parsed: " + url);
                     }
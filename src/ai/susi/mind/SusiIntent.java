@@ -26,7 +26,6 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.regex.PatternSyntaxException;
 
@@ -56,7 +55,11 @@ public class SusiIntent implements Cloneable {
     private Set<String> keys;
     private String comment;
     private int user_subscore;
-    private Score score;
+    private boolean scoreCompiled; // true if scoreBase and scoreLog are computed
+    private boolean dynamicContent; // true if the skill of the intent declares dynamic content
+    private boolean staticAnswer, fixedAnswer; // the classification of the answer, computed together with the score
+    private long scoreBase; // the language-independent part of the score
+    private String scoreLog;
     private int hashCode, depth;
     private SusiSkill.ID skillid;
     private String example, expect, label, implication;
@@ -68,7 +71,7 @@ public class SusiIntent implements Cloneable {
         this.keys = new HashSet<>();
         this.cues = new LinkedHashSet<>();
         this.user_subscore = DEFAULT_SCORE;
-        this.score = null; // calculate this later if required
+        this.scoreCompiled = false; // calculate this later if required
         this.comment = "";
         this.skillid = null;
         this.example = "";
@@ -87,7 +90,7 @@ public class SusiIntent implements Cloneable {
         this.keys.forEach(k -> i.keys.add(k));
         this.cues.forEach(c -> i.cues.add(c));
         this.user_subscore = i.user_subscore;
-        i.score = this.score;
+        i.scoreCompiled = false; // the clone may get other actions and inferences
         i.comment = this.comment;
         i.skillid = this.skillid;
         i.example = this.example;
@@ -148,7 +151,7 @@ public class SusiIntent implements Cloneable {
 
         this.cues = new LinkedHashSet<>();
         this.user_subscore = json.has("score") ? json.getInt("score") : DEFAULT_SCORE;
-        this.score = null; // calculate this later if required
+        this.scoreCompiled = false; // calculate this later if required
 
         // extract the comment
         this.comment = json.has("comment") ? json.getString("comment") : "";
@@ -188,7 +191,7 @@ public class SusiIntent implements Cloneable {
 
         this.cues = new LinkedHashSet<>();
         this.user_subscore = DEFAULT_SCORE;
-        this.score = null; // calculate this later if required
+        this.scoreCompiled = false; // calculate this later if required
         this.comment = "";
         this.skillid = skillid;
         this.example = "";
@@ -331,6 +334,76 @@ public class SusiIntent implements Cloneable {
         return this.expect == null || this.expect.length() == 0 ? null : this.expect;
     }
 
+    /**
+     * An intent has memory side-effects if it writes into the thoughts which are remembered:
+     * it has memory inferences, assignments or reflections (which may have side-effects as well).
+     * The result of intents without memory side-effects can be re-used.
+     * @return true if the intent may write into the memory
+     */
+    public boolean hasMemorySideEffects() {
+        for (SusiInference inference: this.inferences) {
+            if (inference.getType() == SusiInference.Type.memory) return true;
+        }
+        for (SusiAction action: this.actions) {
+            List<String> phrases = action.getPhrases();
+            if (phrases != null) for (String phrase: phrases) {
+                if (phrase.indexOf('>') >= 0 || phrase.indexOf('`') >= 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * declare that the skill of this intent has dynamic content; such an intent is never static.
+     * This must be called before the intent is learned.
+     * @param dynamicContent
+     * @return the intent
+     */
+    public SusiIntent setDynamicContent(boolean dynamicContent) {
+        this.dynamicContent = dynamicContent;
+        this.scoreCompiled = false;
+        return this;
+    }
+
+    /**
+     * An intent is static if the answer depends only on the query: there are no inferences, the
+     * actions do not contain variables, assignments or reflections and the skill does not declare dynamic content.
+     * A static intent can never fail once an utterance has matched.
+     * The classification is done once when the intent is learned.
+     * @return true if the intent is static
+     */
+    public boolean isStatic() {
+        if (!this.scoreCompiled) compileScore();
+        return this.staticAnswer;
+    }
+
+    /**
+     * An intent has a fixed answer if it is static and there is no choice between phrases
+     * @return true if the applied actions of the intent are always the same
+     */
+    public boolean hasFixedAnswer() {
+        if (!this.scoreCompiled) compileScore();
+        return this.fixedAnswer;
+    }
+
+    private boolean computeStatic() {
+        if (this.dynamicContent || !this.inferences.isEmpty()) return false;
+        for (SusiAction action: this.actions) {
+            String a = action.toJSONClone().toString();
+            if (a.indexOf('$') >= 0 || a.indexOf('>') >= 0 || a.indexOf('`') >= 0) return false;
+        }
+        return true;
+    }
+
+    private boolean computeFixedAnswer() {
+        if (!this.staticAnswer) return false;
+        for (SusiAction action: this.actions) {
+            List<String> phrases = action.getPhrases();
+            if (phrases != null && phrases.size() > 1) return false;
+        }
+        return true;
+    }
+
     public boolean hasExample() {
         return this.example != null && this.example.length() > 0;
     }
@@ -372,7 +445,7 @@ public class SusiIntent implements Cloneable {
         JSONObject json = new JSONObject(true);
         json.put("id", this.hashCode());
         json.put("depth", this.depth);
-        if (this.score != null) json.put("score", this.score.score);
+        if (this.scoreCompiled) json.put("score", getScoreValue(this.skillid == null ? SusiLanguage.unknown : this.skillid.language()));
         if (this.skillid != null && this.skillid.getPath().length() > 0) {
             json.put("skill_source", this.skillid.getPath());
             json.put("skill_link", SusiCognition.getSkillLink(this.skillid.getPath()));
@@ -397,6 +470,57 @@ public class SusiIntent implements Cloneable {
         return json;
     }
 
+    /**
+     * A snapshot is a serialization of all properties of the intent including the compiled utterances.
+     * It is used to restore the intent without parsing the skill again.
+     * @return the intent as json
+     */
+    JSONObject toSnapshot() {
+        JSONObject json = new JSONObject(true);
+        JSONArray u = new JSONArray(); this.utterances.forEach(utterance -> u.put(utterance.toSnapshot()));
+        json.put("utterances", u);
+        JSONArray p = new JSONArray(); this.inferences.forEach(inference -> p.put(inference.getJSON()));
+        json.put("process", p);
+        JSONArray a = new JSONArray(); this.actions.forEach(action -> a.put(action.toJSONClone()));
+        json.put("actions", a);
+        json.put("keys", new JSONArray(this.keys));
+        json.put("cues", new JSONArray(this.cues));
+        json.put("subscore", this.user_subscore);
+        json.put("depth", this.depth);
+        json.put("comment", this.comment);
+        json.put("example", this.example);
+        json.put("expect", this.expect);
+        json.put("label", this.label);
+        json.put("implication", this.implication);
+        return json;
+    }
+
+    /**
+     * restore an intent from a snapshot
+     * @param skillid the skill of the intent
+     * @param snapshot the result of toSnapshot()
+     * @return the intent
+     * @throws SusiActionException
+     */
+    static SusiIntent fromSnapshot(SusiSkill.ID skillid, JSONObject snapshot) throws SusiActionException {
+        SusiIntent intent = new SusiIntent();
+        snapshot.getJSONArray("utterances").forEach(u -> intent.utterances.add(SusiUtterance.fromSnapshot((JSONObject) u)));
+        snapshot.getJSONArray("process").forEach(p -> intent.inferences.add(new SusiInference((JSONObject) p)));
+        JSONArray a = snapshot.getJSONArray("actions");
+        for (int i = 0; i < a.length(); i++) intent.actions.add(new SusiAction(a.getJSONObject(i)));
+        snapshot.getJSONArray("keys").forEach(k -> intent.keys.add((String) k));
+        snapshot.getJSONArray("cues").forEach(c -> intent.cues.add((String) c));
+        intent.user_subscore = snapshot.getInt("subscore");
+        intent.depth = snapshot.getInt("depth");
+        intent.comment = snapshot.optString("comment", "");
+        intent.example = snapshot.optString("example", "");
+        intent.expect = snapshot.optString("expect", "");
+        intent.label = snapshot.optString("label", "");
+        intent.implication = snapshot.optString("implication", "");
+        intent.skillid = skillid;
+        return intent;
+    }
+
     public String toLoT() {
         StringBuilder sb = new StringBuilder();
 
@@ -610,20 +734,13 @@ public class SusiIntent implements Cloneable {
     /**
      * Actions are operations that are activated when inferences terminate and something should be done with the
      * result. Actions describe how data should be presented, i.e. painted in graphs or just answer lines.
-     * Because actions may get changed during computation, we return a clone here
+     * Because actions may get changed during computation, we return instances here: an instance shares the
+     * declaration of the action and keeps only the attributes which are changed during the computation.
      * @return a list of possible actions. It might be possible to use only a subset, but it is recommended to activate all of them
      */
     public List<SusiAction> getActionsClone() {
-        List<SusiAction> clonedList = new ArrayList<>();
-        this.actions.forEach(a -> {
-            JSONObject actionJson = a.toJSONClone();
-            try {
-                SusiAction action = new SusiAction(actionJson);
-                clonedList.add(action);
-            } catch (SusiActionException e) {
-                DAO.severe("invalid action - " + e.getMessage() + ": " + actionJson.toString(0));
-            }
-        });
+        List<SusiAction> clonedList = new ArrayList<>(this.actions.size());
+        this.actions.forEach(a -> clonedList.add(a.instance()));
         return clonedList;
     }
 
@@ -634,9 +751,19 @@ public class SusiIntent implements Cloneable {
      * @return a matcher on the intent utterances
      */
     public LinkedHashSet<SusiMatcher> matcher(String s) {
+        return matcher(s.toLowerCase(), null);
+    }
+
+    /**
+     * Compute the matcher for a lowercase string where utterances are only tested if they pass a prefilter.
+     * @param s the lowercase string which should match
+     * @param prefilter a prefilter computed from s or null if all utterances shall be tested
+     * @return a matcher on the intent utterances
+     */
+    public LinkedHashSet<SusiMatcher> matcher(String s, SusiIntentIndex.Prefilter prefilter) {
         LinkedHashSet<SusiMatcher> l = new LinkedHashSet<>();
-        s = s.toLowerCase();
         for (SusiUtterance p: this.utterances) {
+            if (prefilter != null && !prefilter.mayMatch(p.getPattern())) continue;
             SusiMatcher m = p.getPattern().matcher(s);
             if (m.matches()) {
                 //System.out.println("MATCHERGROUP=" + m.group().toString());
@@ -648,19 +775,32 @@ public class SusiIntent implements Cloneable {
 
     /**
      * get the intent score
-     * @param expression the user expression where we are looking for an answer
      * @param language this is the language the user is speaking
-     * @return an intent score: the higher, the better; null if the expression cannot be matched
+     * @return an intent score: the higher, the better
      */
     public Score getScore(SusiLanguage language) {
-        if (this.score != null) return score;
-        this.score = new Score(language);
-        if (this.score.score == Integer.MIN_VALUE) this.score = null;
-        return this.score;
+        return new Score(language);
     }
 
     /**
-     * The score is used to prefer one intent over another if that other intent has a lower score.
+     * get the intent score value. This does not allocate any object once the score is compiled.
+     * @param language this is the language the user is speaking
+     * @return the score value, the higher, the better
+     */
+    public long getScoreValue(SusiLanguage language) {
+        if (!this.scoreCompiled) compileScore();
+        return languageSubscore(language) * SCORE_LANGUAGE_FACTOR + this.scoreBase;
+    }
+
+    private int languageSubscore(SusiLanguage userLanguage) {
+        return this.skillid == null ? 0 : (int) (100 * this.skillid.language().likelihoodCanSpeak(userLanguage));
+    }
+
+    // the factor of the language subscore within the score; the factors are the ranges of all following subscores
+    private final static long SCORE_LANGUAGE_FACTOR = 100L * SusiAction.DialogType.values().length * 256L * (1 + SusiInference.Type.values().length) * 1001L;
+
+    /**
+     * Compile the score of the intent. The score is used to prefer one intent over another if that other intent has a lower score.
      * The reason that this score is used is given by the fact that we need intents which have
      * fuzzy utterance definitions and several intents might be selected because these fuzzy utterances match
      * on the same input sequence. One example is the catch-all intent which fires always but has
@@ -669,17 +809,20 @@ public class SusiIntent implements Cloneable {
      * If the AI learns that a intent was applied and caused a better situation (see also: game playing gamefield
      * evaluation) then the intent might get the score increased. Having many intents which have a high score
      * therefore might induce a 'good feeling' because it is known that the outcome will be good.
-     * @param expression the user expression where we are looking for an answer
-     * @param language this is the language the user is speaking
-     * @return a score which is used for sorting of the intents. The higher the better. Highest score wins.
+     *
+     * Only the language subscore depends on the language of the user. It is the most significant part of the
+     * score, therefore all other parts are computed here once and the score for a specific language is
+     * the language subscore times SCORE_LANGUAGE_FACTOR plus the language-independent part.
+     * This must be called when all actions and inferences are attached to the intent; the mind does this when
+     * it learns the intent.
      */
-    public class Score {
-
-        public long score;
-        public String log;
+    public void compileScore() {
+        // the answer phrases are compiled here as well; instances of the actions share the templates
+        for (SusiAction action: this.actions) action.getTemplates();
 
-        public Score(SusiLanguage userLanguage) {
-        if (SusiIntent.this.score != null) return;
+        // the classification of the answer
+        this.staticAnswer = computeStatic();
+        this.fixedAnswer = computeFixedAnswer();
 
         /*
          * Score Computation:
@@ -717,74 +860,54 @@ public class SusiIntent implements Cloneable {
          * subscore a score in a small range which can be used to distinguish intents within the same categories
          */
 
-        // compute the score
-
-        // (0) language
-        final int language_subscore = SusiIntent.this.skillid == null ? 0 : (int) (100 * SusiIntent.this.skillid.language().likelihoodCanSpeak(userLanguage));
-        this.score = language_subscore;
+        // (0) language: this is added in getScoreValue()
+        long score = 0;
 
-        // (1) pattern score
-        // (2) meatsize: length of a utterance (counts letters)
+        // (1) pattern score and (2) meatsize are currently not used
         // (3) whole size: length of the pattern
-        //final AtomicInteger utterances_subscore = new AtomicInteger(Integer.MAX_VALUE);
-        //final AtomicInteger utterances_meatscore = new AtomicInteger(Integer.MAX_VALUE);
-        final AtomicInteger utterances_wholesize = new AtomicInteger(Integer.MAX_VALUE);
-        SusiIntent.this.utterances.forEach(utterance -> utterances_wholesize.set(Math.min(utterances_wholesize.get(), utterance.getPattern().toString().length())));
-        /*
-        for (SusiUtterance utterance : SusiIntent.this.utterances) {
-            SusiPattern t = utterance.getPattern();
-            SusiMatcher m = t.matcher(expression);
-            if (!m.matches()) continue;
-
-            utterances_subscore.set(Math.min(utterances_subscore.get(), utterance.getSubscore()));
-            utterances_meatscore.set(Math.min(utterances_meatscore.get(), utterance.getMeatsize()));
-            String p = utterance.getPattern().toString();
-            utterances_wholesize.set(Math.min(utterances_wholesize.get(), p.length()));
-        }
-        if (utterances_subscore.get() == Integer.MAX_VALUE ||
-            utterances_meatscore.get() == Integer.MAX_VALUE ||
-            utterances_wholesize.get() == Integer.MAX_VALUE) {
-            // no match of any utterance, do not consider this
-            this.score = Integer.MIN_VALUE;
-            this.log = "";
-            return;
-        }
-        this.score = this.score * SusiUtterance.Type.values().length + utterances_subscore.get();
-        this.score = this.score * 100 + utterances_meatscore.get();
-        */
-        this.score = this.score * 100 + utterances_wholesize.get();
+        int utterances_wholesize = Integer.MAX_VALUE;
+        for (SusiUtterance utterance: this.utterances) utterances_wholesize = Math.min(utterances_wholesize, utterance.getPattern().toString().length());
+        score = score * 100 + utterances_wholesize;
 
         // (4) conversation plan from the answer purpose
-        final AtomicInteger dialogType_subscore = new AtomicInteger(Integer.MAX_VALUE);
-        if (!(utterances.size() == 1 && utterances.get(0).equals("(.*)"))) {
-            SusiIntent.this.actions.forEach(action -> dialogType_subscore.set(Math.min(dialogType_subscore.get(), action.getDialogType().getSubscore())));
-        }
-        this.score = this.score * SusiAction.DialogType.values().length + dialogType_subscore.get();
+        int dialogType_subscore = Integer.MAX_VALUE;
+        for (SusiAction action: this.actions) dialogType_subscore = Math.min(dialogType_subscore, action.getDialogType().getSubscore());
+        score = score * SusiAction.DialogType.values().length + dialogType_subscore;
 
         // (5) action render type score
-        final AtomicInteger actionRenderType_subscore = new AtomicInteger(0);
-        SusiIntent.this.actions.forEach(action -> actionRenderType_subscore.set(Math.max(actionRenderType_subscore.get(), action.getRenderType().getScore())));
-        this.score = this.score * 256 + actionRenderType_subscore.get();
+        int actionRenderType_subscore = 0;
+        for (SusiAction action: this.actions) actionRenderType_subscore = Math.max(actionRenderType_subscore, action.getRenderType().getScore());
+        score = score * 256 + actionRenderType_subscore;
 
         // (6) operation type - there may be no operation at all
-        final AtomicInteger inference_subscore = new AtomicInteger(0);
-        SusiIntent.this.inferences.forEach(inference -> inference_subscore.set(Math.max(inference_subscore.get(), inference.getType().getSubscore())));
-        this.score = this.score * (1 + SusiInference.Type.values().length) + inference_subscore.get();
+        int inference_subscore = 0;
+        for (SusiInference inference: this.inferences) inference_subscore = Math.max(inference_subscore, inference.getType().getSubscore());
+        score = score * (1 + SusiInference.Type.values().length) + inference_subscore;
 
         // (7) subscore from the user
-        this.score += this.score * 1000 + Math.min(1000, SusiIntent.this.user_subscore);
-
-        this.log = 
-                "language=" + language_subscore +
-                //", utterance=" + utterances_subscore.get() +
-                //", meatscore=" + utterances_meatscore.get() +
-                ", wholesize=" + utterances_wholesize.get() +
-                ", dialog=" + dialogType_subscore.get() +
-                ", inference=" + inference_subscore.get() +
+        score += score * 1000 + Math.min(1000, this.user_subscore);
+
+        this.scoreLog =
+                ", wholesize=" + utterances_wholesize +
+                ", dialog=" + dialogType_subscore +
+                ", inference=" + inference_subscore +
                 ", subscore=" + user_subscore +
-                ", pattern=" + (utterances.size() > 0 ? utterances.get(0).toString() : "") + (SusiIntent.this.inferences.size() > 0 ? (", inference=" + SusiIntent.this.inferences.get(0).getExpression()) : "");
+                ", pattern=" + (utterances.size() > 0 ? utterances.get(0).toString() : "") + (this.inferences.size() > 0 ? (", inference=" + this.inferences.get(0).getExpression()) : "");
+        this.scoreBase = score;
+        this.scoreCompiled = true;
+    }
 
-        //System.out.println("*** " + SusiIntent.this.utterances + ": " + this.log);
+    /**
+     * A score is the intent score for a specific user language together with a log of the score computation.
+     */
+    public class Score {
+
+        public final long score;
+        public final String log;
+
+        public Score(SusiLanguage userLanguage) {
+            this.score = getScoreValue(userLanguage);
+            this.log = "language=" + languageSubscore(userLanguage) + SusiIntent.this.scoreLog;
         }
     }
 
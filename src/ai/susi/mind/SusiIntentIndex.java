@@ -0,0 +1,314 @@
+/**
+ *  SusiIntentIndex
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ai.susi.mind.SusiPattern.Anchors;
+import ai.susi.tools.AhoCorasick;
+
+/**
+ * The intent index is a compiled form of the intent trigger map of a mind.
+ * Every intent gets a dense integer id and every trigger key points to a primitive
+ * array of ids. For each user language a ranking is computed once where the
+ * ids of every key are sorted by the intent score. The rankings of the expected languages are computed
+ * in advance with prepare(); the ranking of any other language is computed with its first request. Candidate generation for a query
+ * is then a merge of the sorted arrays of all query tokens; a bitset removes doubles.
+ * This avoids that we create idea objects for intents which do not match at all.
+ */
+public class SusiIntentIndex {
+
+    private final long generation;                      // the generation of the trigger map when this index was made
+    private final SusiIntent[] intents;                 // a mapping from the intent id to the intent
+    private final Map<String, int[]> postings;          // a mapping from the trigger key to the intent ids
+    private final Map<SusiLanguage, Ranking> rankings;  // the per-language ordering of the postings
+    private final AhoCorasick anchors;                  // an automaton for all literal fragments of all utterances
+    private final Map<String, int[]> literals;          // a mapping from a literal utterance to the intent ids of literal intents
+
+    /**
+     * compile an index from the intent trigger map of a mind
+     * @param intenttrigger a map from a trigger key to a set of intents
+     * @param generation the modification count of the intent trigger map
+     */
+    public SusiIntentIndex(final Map<String, Set<SusiIntent>> intenttrigger, final long generation) {
+        this.generation = generation;
+
+        // collect all distinct intents and give them a stable order for the ids
+        Map<SusiIntent, Integer> ids = new HashMap<>();
+        List<SusiIntent> all = new ArrayList<>();
+        intenttrigger.values().forEach(set -> set.forEach(intent -> {
+            if (!ids.containsKey(intent)) {ids.put(intent, 0); all.add(intent);}
+        }));
+        all.sort(STABLE_ORDER);
+        this.intents = all.toArray(new SusiIntent[all.size()]);
+        for (int i = 0; i < this.intents.length; i++) ids.put(this.intents[i], i);
+
+        // intents which have only literal utterances are not entered into the postings; they are found with a lookup of the query
+        final boolean[] literal = new boolean[this.intents.length];
+        Map<String, List<Integer>> literalIntents = new HashMap<>();
+        for (int id = 0; id < this.intents.length; id++) {
+            List<SusiUtterance> utterances = this.intents[id].getUtterances();
+            literal[id] = !utterances.isEmpty();
+            for (SusiUtterance utterance: utterances) literal[id] = literal[id] && utterance.getPattern().literal() != null;
+            if (!literal[id]) continue;
+            for (SusiUtterance utterance: utterances) {
+                List<Integer> l = literalIntents.get(utterance.getPattern().literal());
+                if (l == null) {l = new ArrayList<>(1); literalIntents.put(utterance.getPattern().literal(), l);}
+                if (!l.contains(id)) l.add(id);
+            }
+        }
+        this.literals = new HashMap<>();
+        literalIntents.forEach((l, idlist) -> {
+            int[] p = new int[idlist.size()];
+            for (int i = 0; i < p.length; i++) p[i] = idlist.get(i);
+            this.literals.put(l, p);
+        });
+
+        // compute the postings
+        this.postings = new HashMap<>();
+        intenttrigger.forEach((key, set) -> {
+            int[] p = new int[set.size()];
+            int c = 0;
+            for (SusiIntent intent: set) {
+                Integer id = ids.get(intent);
+                if (id != null && !literal[id] && c < p.length) p[c++] = id;
+            }
+            if (c < p.length) p = Arrays.copyOf(p, c);
+            this.postings.put(key, p);
+        });
+        this.rankings = new ConcurrentHashMap<>();
+
+        // compile the utterance anchors into one automaton
+        List<String> fragments = new ArrayList<>();
+        for (SusiIntent intent: this.intents) {
+            for (SusiUtterance utterance: intent.getUtterances()) {
+                Anchors a = utterance.getPattern().anchors();
+                if (a != null) for (String f: a.fragments) fragments.add(f);
+            }
+        }
+        this.anchors = new AhoCorasick(fragments);
+    }
+
+    private final static Comparator<SusiIntent> STABLE_ORDER = new Comparator<SusiIntent>() {
+        @Override
+        public int compare(SusiIntent a, SusiIntent b) {
+            String as = a.getSkillID() == null ? "" : a.getSkillID().getPath();
+            String bs = b.getSkillID() == null ? "" : b.getSkillID().getPath();
+            int c = as.compareTo(bs);
+            if (c != 0) return c;
+            c = Integer.compare(firstLine(a), firstLine(b));
+            if (c != 0) return c;
+            return Integer.compare(a.hashCode(), b.hashCode());
+        }
+    };
+
+    private static int firstLine(SusiIntent intent) {
+        Collection<SusiUtterance> u = intent.getUtterances();
+        return u.isEmpty() ? 0 : u.iterator().next().getLine();
+    }
+
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    public int size() {
+        return this.intents.length;
+    }
+
+    /**
+     * A ranking is the ordering of all intents for one user language. The posting arrays
+     * of a ranking do not contain intent ids but rank positions; a lower position means a better score.
+     */
+    private class Ranking {
+
+        private final SusiIntent[] ranked;          // a mapping from the rank position to the intent
+        private final int[] rank;                   // a mapping from the intent id to the rank position, -1 if not ranked
+        private final Map<String, int[]> postings;  // a mapping from the trigger key to ascending rank positions
+
+        private Ranking(SusiLanguage language) {
+            // the score table for this language: one score for each intent id
+            final long[] scores = new long[SusiIntentIndex.this.intents.length];
+            List<Integer> order = new ArrayList<>(scores.length);
+            for (int id = 0; id < scores.length; id++) {
+                scores[id] = SusiIntentIndex.this.intents[id].getScoreValue(language);
+                order.add(id);
+            }
+            // ties are broken with the intent id which has the same order for all languages
+            order.sort((a, b) -> {
+                int c = Long.compare(scores[b], scores[a]); // highest score first
+                return c != 0 ? c : Integer.compare(a, b);
+            });
+            this.ranked = new SusiIntent[order.size()];
+            this.rank = new int[scores.length];
+            Arrays.fill(this.rank, -1);
+            for (int r = 0; r < this.ranked.length; r++) {
+                int id = order.get(r);
+                this.ranked[r] = SusiIntentIndex.this.intents[id];
+                this.rank[id] = r;
+            }
+
+            // translate the postings into rank positions
+            this.postings = new HashMap<>();
+            SusiIntentIndex.this.postings.forEach((key, ids) -> {
+                int[] p = new int[ids.length];
+                int c = 0;
+                for (int id: ids) if (this.rank[id] >= 0) p[c++] = this.rank[id];
+                if (c < p.length) p = Arrays.copyOf(p, c);
+                Arrays.sort(p);
+                this.postings.put(key, p);
+            });
+        }
+    }
+
+    /**
+     * compute the rankings of the given languages, so that the first request in one of these languages
+     * does not have to wait for its ranking
+     * @param languages the expected user languages
+     */
+    public void prepare(Collection<SusiLanguage> languages) {
+        for (SusiLanguage language: languages) getRanking(language);
+    }
+
+    private Ranking getRanking(SusiLanguage language) {
+        // concurrent first requests in the same language wait for one computation of the ranking
+        return this.rankings.computeIfAbsent(language, l -> new Ranking(l));
+    }
+
+    /**
+     * A candidate selector walks through the intents which are triggered by a query in order of their score
+     */
+    public interface Candidates {
+        /**
+         * @return the next candidate intent or null if no more candidates exist
+         */
+        public SusiIntent next();
+    }
+
+    /**
+     * get all intents which are triggered by the given keys and the catchall intents,
+     * ordered by the score for the given language. Every intent is returned only once.
+     * Intents with only literal utterances are returned only if one of the utterances is equal to the query.
+     * @param keys the trigger keys, i.e. the tokens of a query
+     * @param query the lowercase query
+     * @param language the language of the user
+     * @return a candidate selector
+     */
+    public Candidates candidates(final Collection<String> keys, final String query, final SusiLanguage language) {
+        final Ranking ranking = getRanking(language);
+        final List<int[]> lists = new ArrayList<>(keys.size() + 2);
+        for (String key: keys) {
+            int[] p = ranking.postings.get(key);
+            if (p != null && p.length > 0) lists.add(p);
+        }
+        int[] ca = ranking.postings.get(SusiIntent.CATCHALL_KEY);
+        if (ca != null && ca.length > 0) lists.add(ca);
+
+        // literal intents: these must be triggered by the keys as well, like all other intents
+        int[] li = this.literals.get(query);
+        if (li != null) {
+            int[] p = new int[li.length];
+            int c = 0;
+            for (int id: li) {
+                if (ranking.rank[id] < 0) continue;
+                Set<String> intentKeys = this.intents[id].getKeys();
+                boolean triggered = intentKeys.contains(SusiIntent.CATCHALL_KEY);
+                for (String key: keys) triggered = triggered || intentKeys.contains(key);
+                if (triggered) p[c++] = ranking.rank[id];
+            }
+            if (c > 0) {
+                p = Arrays.copyOf(p, c);
+                Arrays.sort(p);
+                lists.add(p);
+            }
+        }
+        final int[][] arrays = lists.toArray(new int[lists.size()][]);
+        final int[] cursors = new int[arrays.length];
+        final BitSet seen = new BitSet(ranking.ranked.length);
+
+        // a k-way merge; the number of lists is the number of query tokens, so a linear scan is fine
+        return new Candidates() {
+            @Override
+            public SusiIntent next() {
+                while (true) {
+                    int best = -1, min = Integer.MAX_VALUE;
+                    for (int i = 0; i < arrays.length; i++) {
+                        if (cursors[i] < arrays[i].length && arrays[i][cursors[i]] < min) {
+                            min = arrays[i][cursors[i]];
+                            best = i;
+                        }
+                    }
+                    if (best < 0) return null;
+                    cursors[best]++;
+                    if (seen.get(min)) continue;
+                    seen.set(min);
+                    return ranking.ranked[min];
+                }
+            }
+        };
+    }
+
+    /**
+     * A prefilter is the result of a scan of a query with the anchors of all utterances.
+     * It tells if an utterance is able to match the query at all. Only those utterances which
+     * pass the prefilter must be tested with the full regular expression.
+     */
+    public class Prefilter {
+
+        private final String query;
+        private final BitSet found;
+
+        private Prefilter(String query) {
+            this.query = query;
+            this.found = SusiIntentIndex.this.anchors.find(query);
+        }
+
+        public boolean mayMatch(SusiPattern pattern) {
+            if (pattern.literal() != null) return pattern.literal().equals(this.query);
+            Anchors a = pattern.anchors();
+            if (a == null) return true; // we do not know anything about that pattern
+            for (String f: a.fragments) {
+                int id = SusiIntentIndex.this.anchors.id(f);
+                // utterances which are not part of the index are not filtered
+                if (id < 0) return true;
+                if (!this.found.get(id)) return false;
+            }
+            return a.mayMatch(this.query);
+        }
+    }
+
+    /**
+     * scan a query once to find all utterance anchors in that query
+     * @param query the lowercase query
+     * @return a prefilter for utterance patterns
+     */
+    public Prefilter prefilter(String query) {
+        return new Prefilter(query);
+    }
+
+}
@@ -90,26 +90,41 @@ public class SusiLinguistics {
 
     public static Token tokenizeTerm(SusiLanguage language, String term) {
         language = language == null ? SusiLanguage.en : language;
-        String original = term.toLowerCase();
-        Map<String, String> synmap = synonyms.get(language);
+        return tokenizeTerm(synonyms.get(language), categories.get(language), term.toLowerCase());
+    }
+
+    private static Token tokenizeTerm(Map<String, String> synmap, Map<String, String> catforlang, String original) {
         String s = synmap == null ? null : synmap.get(original);
         String canonical = s == null ? original : s;
-        Map<String, String> catforlang = categories.get(language);
         String c = catforlang == null ? null : catforlang.get(canonical);
         String categorized = c == null ? canonical : c;
         return new Token(original, canonical, categorized);
     }
 
+    /**
+     * tokenize a sentence in one scan: tokens are separated by spaces and every punctuation mark starts a new token.
+     * The tokens are lowercase, filler words are removed and every token gets its canonical and categorized form.
+     * @param language the language of the sentence
+     * @param term the sentence
+     * @return the list of tokens
+     */
     public static List<Token> tokenizeSentence(SusiLanguage language, String term) {
         language = language == null ? SusiLanguage.en : language;
         List<Token> t = new ArrayList<>();
-        term = term.replaceAll("\\?", " ?").replaceAll("\\!", " !").replaceAll("\\.", " .").replaceAll("\\,", " ,").replaceAll("\\;", " ;").replaceAll("\\:", " :").replaceAll("  ", " ");
-        String[] u = term.split(" ");
+        term = term.toLowerCase();
         Set<String> fillset = filler.get(language);
-        for (String v: u) {
-            String original = v.toLowerCase();
-            if (fillset != null && fillset.contains(original)) continue;
-            t.add(tokenizeTerm(language, original));
+        Map<String, String> synmap = synonyms.get(language);
+        Map<String, String> catforlang = categories.get(language);
+        int start = 0, n = term.length();
+        for (int i = 0; i <= n; i++) {
+            char c = i == n ? ' ' : term.charAt(i);
+            boolean space = c == ' ', punctuation = "?!.,;:".indexOf(c) >= 0;
+            if (!space && !punctuation) continue;
+            if (i > start) {
+                String original = term.substring(start, i);
+                if (fillset == null || !fillset.contains(original)) t.add(tokenizeTerm(synmap, catforlang, original));
+            }
+            start = space ? i + 1 : i; // a punctuation mark is the first character of the next token
         }
         return t;
     }
@@ -21,9 +21,12 @@ package ai.susi.mind;
 
 import ai.susi.DAO;
 import ai.susi.json.JsonTray;
+import ai.susi.mind.SusiPattern.Anchors;
+import ai.susi.tools.AhoCorasick;
 import ai.susi.tools.IO;
 import ai.susi.tools.MapTools;
 import org.apache.commons.io.FileUtils;
+import org.json.JSONObject;
 
 import java.io.File;
 import java.io.IOException;
@@ -67,6 +70,10 @@ public class SusiMemory {
     private Map<String, SusiIdentity> memories;
     private Map<String, Map<String, JsonTray>> intentsets;
     private Map<String, AtomicInteger> unanswered;
+    private final Map<String, Set<String>> unansweredIndex; // an inverted index from the tokens to the unanswered queries which contain the token
+    private final Map<String, AtomicInteger> unansweredTokenCounter; // a map from the tokens to the sum of the counts of the unanswered queries with the token
+    private volatile List<TokenMapList> unansweredStats; // the latest tokenized statistics or null if the unanswered queries changed since then
+    private volatile SusiReconciler reconciler; // the remover of unanswered queries which can be answered by learned skills
     
     public SusiMemory(File susi_chatlog_dir, File susi_skilllog_dir, int attention) {
         if (susi_chatlog_dir != null) susi_chatlog_dir.mkdirs();
@@ -78,6 +85,10 @@ public class SusiMemory {
         this.memories = new ConcurrentHashMap<>();
         this.intentsets = new ConcurrentHashMap<>();
         this.unanswered = new ConcurrentHashMap<>();
+        this.unansweredIndex = new HashMap<>();
+        this.unansweredTokenCounter = new HashMap<>();
+        this.unansweredStats = null;
+        this.reconciler = null;
     }
     
     public void initializeMemory() {
@@ -99,16 +110,7 @@ public class SusiMemory {
                         }
     
                         // check unanswered
-                        String query = cognition.getQuery().toLowerCase();
-                        String answer = cognition.getExpression(true);
-                        if (query.length() > 0 && failset.contains(answer)) {
-                            AtomicInteger counter = this.unanswered.get(query);
-                            if (counter == null) {
-                                counter = new AtomicInteger(0);
-                                this.unanswered.put(query,  counter);
-                            }
-                            counter.incrementAndGet();
-                        }
+                        addUnanswered(cognition);
                     }
                     //System.out.println("** DEBUG user " + c + "; q = " + query + "; a = " + answer);
                 });
@@ -125,56 +127,104 @@ public class SusiMemory {
     public Map<String, Integer> getUnanswered() {
         return MapTools.deatomize(this.unanswered);
     }
+
+    /**
+     * add the query of a cognition to the unanswered queries if the answer was a fail answer
+     * @param cognition
+     */
+    private void addUnanswered(SusiCognition cognition) {
+        String query = cognition.getQuery().toLowerCase();
+        String answer = cognition.getExpression(true);
+        if (query.length() == 0 || !failset.contains(answer)) return;
+        synchronized (this.unansweredIndex) {
+            AtomicInteger counter = this.unanswered.get(query);
+            if (counter == null) {
+                counter = new AtomicInteger(0);
+                this.unanswered.put(query,  counter);
+                for (String token: unansweredTokens(query)) {
+                    Set<String> queries = this.unansweredIndex.get(token);
+                    if (queries == null) {
+                        queries = new HashSet<>();
+                        this.unansweredIndex.put(token, queries);
+                    }
+                    queries.add(query);
+                }
+            }
+            counter.incrementAndGet();
+            for (String token: unansweredTokens(query)) MapTools.incCounter(this.unansweredTokenCounter, token, 1);
+            this.unansweredStats = null;
+        }
+    }
+
+    /**
+     * remove an unanswered query and its entries in the inverted index
+     * @param query the lowercase query
+     * @return true if the query was removed
+     */
+    private boolean removeUnansweredQuery(String query) {
+        synchronized (this.unansweredIndex) {
+            AtomicInteger counter = this.unanswered.remove(query);
+            if (counter == null) return false;
+            for (String token: unansweredTokens(query)) {
+                Set<String> queries = this.unansweredIndex.get(token);
+                if (queries != null) {
+                    queries.remove(query);
+                    if (queries.isEmpty()) this.unansweredIndex.remove(token);
+                }
+                AtomicInteger c = this.unansweredTokenCounter.get(token);
+                if (c != null && c.addAndGet(-counter.get()) <= 0) this.unansweredTokenCounter.remove(token);
+            }
+            this.unansweredStats = null;
+            return true;
+        }
+    }
+
+    /**
+     * @return the distinct tokens of an unanswered query which are used for the statistics
+     */
+    private static Set<String> unansweredTokens(String query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        SusiLinguistics.tokenizeSentence(null, query).forEach(token -> {
+            if (token.original.length() > 1) tokens.add(token.original);
+        });
+        return tokens;
+    }
     
     /**
      * transform unanswered into a statistic for the number of occurrences of words.
      * The words are computed by tokenization of all unanswered phrases.
      * The result is a list of tokens, attached with a list of sentences which contains the token.
      * The list is ordered in reverse order of the number of sentences where the token appears.
-     * @param unanswered
+     * The statistic is read from the inverted index of the unanswered queries and it is computed
+     * again only if the unanswered queries have changed.
      * @return
      */
     public List<TokenMapList> unanswered2tokenizedstats() {
-        // sort map by counter
-        Map<String, AtomicInteger> tokenCounter = new TreeMap<>(); // a map from tokens to counts
-        this.unanswered.forEach((term, counter) -> {
-            SusiLinguistics.tokenizeSentence(null, term).forEach(token -> {
-                if (token.original.length() > 1) MapTools.incCounter(tokenCounter, token.original, counter.get());
-            });
-        });
-        
-        // we now know how many times terms appear in the unanswered set.
-        // lets cluster them and create a list of phrases for each word
-        final Map<TokenMapList, Integer> aggregator = new HashMap<>(); // a map from counts to a subset of the unanswered list where the token appears in the query
-        tokenCounter.forEach((token, tokencount) -> {
-            final AtomicInteger c = new AtomicInteger(0);
-            // find all phrases where the token appears
-            final Map<String, AtomicInteger> unansweredPartList = new HashMap<>();
-            //final String tl = token + " ";
-            //final String tr = " " + token;
-            //final String tm = " " + token + " ";
-            this.unanswered.forEach((query, querycount) -> {
-                //String q = query.toLowerCase();
-                if (query.toLowerCase().indexOf(token) >= 0) {
-                //if (q.indexOf(tm) >= 0 || q.startsWith(tl) || q.endsWith(tr) || q.indexOf(tr) == q.length() - tr.length() - 2) {
-                    MapTools.incCounter(unansweredPartList, query, querycount.get());
-                    c.getAndAdd(querycount.get());
-                }
+        List<TokenMapList> stats = this.unansweredStats;
+        if (stats != null) return stats;
+        synchronized (this.unansweredIndex) {
+            if (this.unansweredStats != null) return this.unansweredStats;
+
+            // the inverted index knows all phrases where a token appears
+            final Map<TokenMapList, Integer> aggregator = new HashMap<>(); // a map from counts to a subset of the unanswered list where the token appears in the query
+            this.unansweredIndex.forEach((token, queries) -> {
+                final Map<String, Integer> unansweredPartList = new HashMap<>();
+                queries.forEach(query -> unansweredPartList.put(query, this.unanswered.get(query).get()));
+                AtomicInteger c = this.unansweredTokenCounter.get(token);
+                TokenMapList tokenmaplist = new TokenMapList(token, unansweredPartList, c == null ? 0 : c.get());
+                aggregator.put(tokenmaplist, tokenmaplist.getCounter());
             });
-            // add the unansweredPartList into a map for each number of tokencounts
-            TokenMapList tokenmaplist = new TokenMapList(token, MapTools.deatomize(unansweredPartList), c.get());
-            aggregator.put(tokenmaplist, c.get());
-        });
-        
-        // finally read out the sorter and write a result in reverse order
-        // flatten the accumulator
-        LinkedList<TokenMapList> resultlist = new LinkedList<>();
-        LinkedHashMap<TokenMapList, Integer> sorter = MapTools.sortByValue(aggregator);
-        sorter.forEach((tokenmaplist, counter) -> {
-            resultlist.add(tokenmaplist);
-        });
 
-        return resultlist;
+            // finally read out the sorter and write a result in reverse order
+            // flatten the accumulator
+            LinkedList<TokenMapList> resultlist = new LinkedList<>();
+            LinkedHashMap<TokenMapList, Integer> sorter = MapTools.sortByValue(aggregator);
+            sorter.forEach((tokenmaplist, counter) -> {
+                resultlist.add(tokenmaplist);
+            });
+            this.unansweredStats = Collections.unmodifiableList(resultlist);
+            return this.unansweredStats;
+        }
     }
     
     
@@ -217,8 +267,7 @@ public class SusiMemory {
     }
 
     public boolean removeUnanswered(String s) {
-        AtomicInteger removed = this.unanswered.remove(s.toLowerCase());
-        return removed != null;
+        return removeUnansweredQuery(s.toLowerCase());
         //if (removed) System.out.println("** removed unanswered " + s);
     }
 
@@ -227,14 +276,11 @@ public class SusiMemory {
             System.out.println("");
         }
         if (dnruset.contains(p.pattern())) return;
-        boolean removed = this.unanswered.remove(p.pattern()) != null;
+        boolean removed = removeUnansweredQuery(p.pattern());
         if (!removed) {
-            Iterator<String> i = this.unanswered.keySet().iterator();
-            while (i.hasNext()) {
-                String s = i.next();
-                if (p.matcher(s).matches()) {
+            for (String s: new ArrayList<>(this.unanswered.keySet())) {
+                if (p.matcher(s).matches() && removeUnansweredQuery(s)) {
                     System.out.println("** removed unanswered " + s);
-                    i.remove();
                     removed = true;
                 }
             }
@@ -242,6 +288,97 @@ public class SusiMemory {
         if (removed) System.out.println("** removed unanswered pattern " + p.pattern());
     }
 
+    /**
+     * remove unanswered queries which match the utterance patterns of learned skills. This is done in a background
+     * thread which collects the patterns of many skills; the method returns immediately.
+     * @param patterns the utterance patterns of a learned skill
+     */
+    public void reconcile(Collection<SusiPattern> patterns) {
+        if (patterns.isEmpty()) return;
+        SusiReconciler r = this.reconciler;
+        if (r == null) synchronized (this) {
+            r = this.reconciler;
+            if (r == null) {
+                r = new SusiReconciler(this);
+                r.start();
+                this.reconciler = r;
+            }
+        }
+        r.reconcile(patterns);
+    }
+
+    /**
+     * @return the progress of the reconciliation of the unanswered queries
+     */
+    public JSONObject getReconciliationStatistics() {
+        SusiReconciler r = this.reconciler;
+        return r == null ? new JSONObject(true) : r.getStatistics();
+    }
+
+    /**
+     * remove all unanswered queries which match any of the given patterns in one pass over the unanswered queries.
+     * The literal fragments of all patterns are compiled into one automaton; for each query the automaton finds the
+     * patterns which may match and only these are tested with their regular expression. Patterns which do not have
+     * any literal fragment would match nearly everything and are not used.
+     * @param patterns a batch of utterance patterns
+     * @return the number of removed unanswered queries
+     */
+    public int removeUnanswered(List<SusiPattern> patterns) {
+        Set<String> literals = new HashSet<>();
+        List<SusiPattern> anchored = new ArrayList<>(), unanchored = new ArrayList<>();
+        List<String> fragments = new ArrayList<>();
+        for (SusiPattern pattern: patterns) {
+            if (pattern.literal() != null) {
+                literals.add(pattern.literal().toLowerCase());
+                continue;
+            }
+            if (dnruset.contains(pattern.pattern())) continue;
+            Anchors a = pattern.anchors();
+            if (a == null) {
+                unanchored.add(pattern);
+            } else if (a.fragments.length > 0) {
+                anchored.add(pattern);
+                for (String f: a.fragments) fragments.add(f);
+            }
+        }
+        if (literals.isEmpty() && anchored.isEmpty() && unanchored.isEmpty()) return 0;
+
+        // the patterns are found with the first fragment; all other fragments are tested afterwards
+        AhoCorasick automaton = new AhoCorasick(fragments);
+        List<List<SusiPattern>> byFirstFragment = new ArrayList<>(automaton.size());
+        for (int i = 0; i < automaton.size(); i++) byFirstFragment.add(new ArrayList<>(1));
+        for (SusiPattern pattern: anchored) byFirstFragment.get(automaton.id(pattern.anchors().fragments[0])).add(pattern);
+
+        List<String> matches = new ArrayList<>();
+        unanswered: for (String query: this.unanswered.keySet()) {
+            if (literals.contains(query)) {
+                matches.add(query);
+                continue unanswered;
+            }
+            BitSet found = anchored.isEmpty() ? new BitSet() : automaton.find(query);
+            for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1)) {
+                candidates: for (SusiPattern pattern: byFirstFragment.get(id)) {
+                    Anchors a = pattern.anchors();
+                    for (String f: a.fragments) if (!found.get(automaton.id(f))) continue candidates;
+                    if (a.mayMatch(query) && pattern.matcher(query).matches()) {
+                        matches.add(query);
+                        continue unanswered;
+                    }
+                }
+            }
+            for (SusiPattern pattern: unanchored) {
+                if (pattern.matcher(query).matches()) {
+                    matches.add(query);
+                    continue unanswered;
+                }
+            }
+        }
+        int removed = 0;
+        for (String query: matches) if (removeUnansweredQuery(query)) removed++;
+        if (removed > 0) DAO.log("removed " + removed + " unanswered queries which match learned utterances");
+        return removed;
+    }
+
     public SusiIdentity getMemory(String client, boolean storeToCache) {
     	SusiIdentity identity = this.memories.get(client);
         if (identity == null) {
@@ -287,6 +424,9 @@ public class SusiMemory {
         // add to user memories
         SusiIdentity identity = getMemory(client, storeToCache);
         identity.add(cognition);
+
+        // add to unanswered queries
+        addUnanswered(cognition);
         
         // add to skill memories
         List<SusiThought> thoughts = cognition.getAnswerThoughts();
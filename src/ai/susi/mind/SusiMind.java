@@ -21,13 +21,12 @@ package ai.susi.mind;
 
 import ai.susi.DAO;
 import ai.susi.mind.SusiIntent.Score;
-import ai.susi.mind.SusiLinguistics.Token;
 import ai.susi.mind.SusiPattern.SusiMatcher;
 import ai.susi.server.ClientIdentity;
 import ai.susi.server.api.susi.ConsoleService;
 import ai.susi.tools.AIML2Susi;
+import ai.susi.tools.CacheMap;
 import ai.susi.tools.DateParser;
-import ai.susi.tools.OnlineCaution;
 import ai.susi.tools.skillqueryparser.SkillQuery;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -45,18 +44,31 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.text.DateFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * The mind learns skills and uses creativity to map intents with user utterances
  */
 public class SusiMind {
 
-    private final Map<String, Set<SusiSkill>> focusSkills; // a map from the on-word to the skill json object
-    private final Map<String, Set<SusiIntent>> intenttrigger; // a map from a keyword to a set of intents
-    private final Map<SusiSkill.ID, SusiSkill> skillMetadata; // a map from skill path to description
+    private final static AtomicLong mindCount = new AtomicLong(0);
+
+    private final long id; // a number which identifies the mind within the runtime; it is never used again
+    private volatile SusiMindGeneration generation; // the intent trigger, focus skills and skill metadata; replaced as a whole when the mind learns
+    private final Object learning; // the lock of the learners; only one new generation is built at a time
+    private final CacheMap<String, StaticAnswer> answerCache; // a mapping from language and query to the answer of a static intent
     private final List<Layer> layers;
-    private final Map<File, Long> observations; // a mapping of mind memory files to the time when the file was read the last time
+    private final Map<File, Long> observations; // a mapping of mind memory files to the modification time of the file when it was read the last time
+    private final Map<File, Long> compileTimes; // a mapping of mind memory files to the time in milliseconds which was needed to compile the file
+    private volatile SusiMindWatcher watcher; // the observer of the skill files of the layers, started with the first observation
+    private volatile SusiMindSnapshot snapshot; // the compiled skills from a previous run, or null if no snapshot is used
     private final SusiMemory memories; // conversation logs are memories
     private SusiSkill activeSkill;
 
@@ -83,12 +95,17 @@ public class SusiMind {
 
     public SusiMind(SusiMemory memory) {
         // initialize class objects
+        this.id = mindCount.incrementAndGet();
         this.layers = new ArrayList<>();
-        this.focusSkills = new HashMap<>();
-        this.intenttrigger = new ConcurrentHashMap<>();
-        this.observations = new HashMap<>();
+        this.generation = new SusiMindGeneration();
+        this.learning = new Object();
+        int answerCacheSize = (int) DAO.getConfig("susi.answer.cache.size", 1000L);
+        this.answerCache = answerCacheSize > 0 ? new CacheMap<>(answerCacheSize) : null;
+        this.observations = new ConcurrentHashMap<>();
+        this.compileTimes = new ConcurrentHashMap<>();
+        this.watcher = null;
+        this.snapshot = null;
         this.memories = memory;
-        this.skillMetadata = new TreeMap<>();
         this.activeSkill = null;
     }
 
@@ -98,6 +115,7 @@ public class SusiMind {
                 layer.path.mkdirs();
             }
             this.layers.add(layer);
+            if (this.watcher != null) this.watcher.addLayer(layer);
         }
         return this;
     }
@@ -111,140 +129,389 @@ public class SusiMind {
     }
 
     public Set<String> getSkillExamples(SusiSkill.ID id) {
-        return this.skillMetadata.get(id).getExamples();
+        return this.generation.getSkillMetadata().get(id).getExamples();
     }
 
     public Set<SusiSkill> getFocusSkills(String skillCallName) {
-        Set<SusiSkill> skills = this.focusSkills.get(skillCallName.toLowerCase());
-        return skills;
+        return this.generation.getFocusSkills(skillCallName);
     }
 
+    /**
+     * @return the skill metadata of the current generation; the map cannot be modified
+     */
     public Map<SusiSkill.ID, SusiSkill> getSkillMetadata() {
-        return this.skillMetadata;
+        return this.generation.getSkillMetadata();
     }
 
-    private AtomicLong latestObserve = new AtomicLong(0);
+    /**
+     * @return a number which identifies this mind; no other mind of the runtime has the same id
+     */
+    public long getID() {
+        return this.id;
+    }
 
+    /**
+     * @return the current generation of the mind; it does not change while it is used
+     */
+    public SusiMindGeneration getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * build a new generation from the current generation and publish it. Learners are serialized;
+     * readers continue to use the previous generation until the new one is published.
+     * @param change the change of the knowledge
+     */
+    private void learn(Consumer<SusiMindGeneration.Builder> change) {
+        synchronized (this.learning) {
+            SusiMindGeneration.Builder next = this.generation.next();
+            change.accept(next);
+            this.generation = next.build();
+        }
+    }
+
+    /**
+     * Observe the skill files of all layers. The first call starts a watcher thread which learns all skills
+     * and afterwards learns every change of the skill files as soon as the file system reports the change:
+     * a modified skill replaces its own intents and a deleted skill is forgotten.
+     * This method returns immediately; the calling thread never scans the skill directories.
+     * @return the mind
+     * @throws IOException if the file system does not provide a watch service
+     */
     public SusiMind observe() throws IOException {
-        if (System.currentTimeMillis() < latestObserve.get() + 10000) return this; // do not run this too often
-        latestObserve.set(System.currentTimeMillis());
-        for (int i = 0; i < layers.size(); i++) {
-            observe(layers.get(i));
+        if (this.watcher != null) return this;
+        synchronized (this.layers) {
+            if (this.watcher != null || this.layers.isEmpty()) return this;
+            SusiMindWatcher w = new SusiMindWatcher(this);
+            this.layers.forEach(layer -> w.addLayer(layer));
+            this.watcher = w;
+            w.start();
         }
         return this;
     }
 
-    private void observe(Layer layer) throws IOException {
-        observe(layer.path, layer.os);
+    /**
+     * use a snapshot file for the compiled skills. The snapshot is read by the watcher before the layers are loaded;
+     * skill files which are unchanged since the snapshot was written are not parsed again.
+     * The snapshot is written by the watcher after changes. This must be called before the first observation.
+     * @param snapshotFile the snapshot file
+     * @return the mind
+     */
+    public SusiMind setSnapshot(File snapshotFile) {
+        this.snapshot = new SusiMindSnapshot(snapshotFile);
+        return this;
+    }
+
+    /**
+     * read the snapshot file
+     */
+    void loadSnapshot() {
+        SusiMindSnapshot s = this.snapshot;
+        if (s != null) s.load();
+    }
+
+    /**
+     * release the restored entries of the snapshot after the initial layers have been learned
+     */
+    void releaseSnapshot() {
+        SusiMindSnapshot s = this.snapshot;
+        if (s != null) s.release();
     }
 
-    private void observe(File f, boolean acceptWildcardIntent) throws IOException {
-        assert f.exists() : f.getAbsolutePath();
-        if (!f.exists()) return;
+    /**
+     * write the snapshot if there are changes since the latest write
+     */
+    void saveSnapshot() {
+        SusiMindSnapshot s = this.snapshot;
+        if (s != null) s.save();
+    }
 
-        Thread.currentThread().setName("ObserveLearn: " + f.getAbsolutePath());
+    /**
+     * stop the observation of the skill files
+     */
+    public void close() {
+        SusiMindWatcher w = this.watcher;
+        if (w != null) w.close();
+    }
 
-        if (!f.isDirectory() && !f.getName().startsWith(".") && (f.getName().endsWith(".json") || f.getName().endsWith(".txt") || f.getName().endsWith(".aiml"))) {
-            if (!observations.containsKey(f) || f.lastModified() > observations.get(f)) {
-                DAO.log("observing " + f.toString());
-                observations.put(f, System.currentTimeMillis());
-                try {
-                    if (f.getName().endsWith(".json")) {
-                        JSONObject lesson = new JSONObject(new JSONTokener(new FileReader(f)));
-                        learn(lesson, f, false);
-                    }
-                    if (f.getName().endsWith(".txt") || f.getName().endsWith(".ezd") || f.getName().endsWith(".lot")) {
-                        SusiSkill.ID skillid = new SusiSkill.ID(f);
-                        SusiSkill skill = new SusiSkill(new BufferedReader(new FileReader(f)), skillid, acceptWildcardIntent);
-                        learn(skill, skillid, false);
-                    }
-                    if (f.getName().endsWith(".aiml")) {
-                        SusiSkill.ID skillid = new SusiSkill.ID(f);
-                        List<SusiIntent> intents = AIML2Susi.readAIMLSkill(f, skillid.language());
-                        intents.forEach(intent -> {
-                            intent.getKeys().forEach(key -> {
-                                Set<SusiIntent> l = this.intenttrigger.get(key);
-                                if (l == null) {
-                                    l = ConcurrentHashMap.newKeySet();
-                                    this.intenttrigger.put(key, l);
-                                }
-                                l.add(intent);
-                            });
-                        
-                        });
-                    }
-                } catch (Throwable e) {
-                    DAO.severe("BAD JSON FILE: " + f.getAbsolutePath() + ", " + e.getMessage());
-                    e.printStackTrace();
+    /**
+     * A lesson is a parsed skill file: the intents are compiled but they are not yet part of the mind.
+     * Lessons can be read concurrently; learning them is a short step which enters the intents into the intenttrigger.
+     */
+    static class Lesson {
+        private final File file;
+        private final SusiSkill.ID skillid;
+        private final JSONObject json;      // the content of a json skill
+        private final SusiSkill skill;      // the content of a txt skill
+        private final List<SusiIntent> aiml; // the content of an aiml skill
+        private final long modified;        // the modification time of the file when it was read
+        private final long compileTime;     // the time in milliseconds that was needed to read the file
+        private final JSONObject snapshot;  // the snapshot entry of the file or null if the file is not part of the snapshot
+
+        private Lesson(File file, long modified, SusiSkill.ID skillid, JSONObject json, SusiSkill skill, List<SusiIntent> aiml, long compileTime, JSONObject snapshot) {
+            this.file = file;
+            this.modified = modified;
+            this.skillid = skillid;
+            this.json = json;
+            this.skill = skill;
+            this.aiml = aiml;
+            this.compileTime = compileTime;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * read a skill file if the file is new or if it was modified since it was learned the last time.
+     * The file is observed when its lesson is learned, so a file whose lesson is lost is read again by the next scan;
+     * a file which cannot be parsed is observed at once and read again only when it is modified.
+     * This method may be called concurrently.
+     * @param f the skill file
+     * @param acceptWildcardIntent true if the skill may declare wildcard answers
+     * @return the parsed skill or null if the file is unchanged or cannot be parsed
+     */
+    Lesson read(File f, boolean acceptWildcardIntent) {
+        if (!isSkillFile(f) || !f.exists()) return null;
+        Long observed = this.observations.get(f);
+        long modified = f.lastModified();
+        if (observed != null && modified == observed) return null;
+        DAO.log("observing " + f.toString());
+        long t0 = System.currentTimeMillis();
+        SusiMindSnapshot snapshot = this.snapshot;
+
+        // try to restore the skill from the snapshot
+        JSONObject entry = snapshot == null ? null : snapshot.get(f, acceptWildcardIntent);
+        if (entry != null) try {
+            SusiSkill.ID skillid = new SusiSkill.ID(f);
+            if (entry.has("skill")) {
+                SusiSkill skill = SusiSkill.fromSnapshot(skillid, entry.getJSONObject("skill"));
+                return new Lesson(f, modified, skillid, null, skill, null, System.currentTimeMillis() - t0, entry);
+            }
+            if (entry.has("aiml")) {
+                List<SusiIntent> intents = new ArrayList<>();
+                JSONArray a = entry.getJSONArray("aiml");
+                for (int i = 0; i < a.length(); i++) intents.add(SusiIntent.fromSnapshot(skillid, a.getJSONObject(i)));
+                return new Lesson(f, modified, skillid, null, null, intents, System.currentTimeMillis() - t0, entry);
+            }
+        } catch (Throwable e) {
+            DAO.severe("cannot restore " + f.getAbsolutePath() + " from snapshot, parsing the file: " + e.getMessage());
+        }
+
+        try {
+            if (f.getName().endsWith(".json")) {
+                try (FileReader reader = new FileReader(f)) {
+                    JSONObject json = new JSONObject(new JSONTokener(reader));
+                    return new Lesson(f, modified, null, json, null, null, System.currentTimeMillis() - t0, null);
+                }
+            }
+            // the state of the file is taken before it is parsed, so a change during the parsing invalidates the snapshot entry
+            JSONObject stamp = snapshot == null ? null : SusiMindSnapshot.stamp(f, modified);
+            if (f.getName().endsWith(".txt") || f.getName().endsWith(".ezd") || f.getName().endsWith(".lot")) {
+                SusiSkill.ID skillid = new SusiSkill.ID(f);
+                try (BufferedReader reader = new BufferedReader(new FileReader(f))) {
+                    SusiSkill skill = new SusiSkill(reader, skillid, acceptWildcardIntent);
+                    if (stamp != null) entry = SusiMindSnapshot.entry(stamp, acceptWildcardIntent, "skill", skill.toSnapshot());
+                    return new Lesson(f, modified, skillid, null, skill, null, System.currentTimeMillis() - t0, entry);
                 }
             }
+            if (f.getName().endsWith(".aiml")) {
+                SusiSkill.ID skillid = new SusiSkill.ID(f);
+                List<SusiIntent> intents = AIML2Susi.readAIMLSkill(f, skillid.language());
+                if (stamp != null) {
+                    JSONArray a = new JSONArray();
+                    intents.forEach(intent -> a.put(intent.toSnapshot()));
+                    entry = SusiMindSnapshot.entry(stamp, acceptWildcardIntent, "aiml", a);
+                }
+                return new Lesson(f, modified, skillid, null, null, intents, System.currentTimeMillis() - t0, entry);
+            }
+        } catch (Throwable e) {
+            DAO.severe("BAD JSON FILE: " + f.getAbsolutePath() + ", " + e.getMessage());
+            e.printStackTrace();
+        }
+        this.observations.put(f, modified);
+        return null;
+    }
+
+    /**
+     * learn a skill file which was read before
+     * @param lesson the parsed skill file
+     */
+    void learn(Lesson lesson) {
+        learnLessons(Collections.singletonList(lesson));
+    }
+
+    private void learn(SusiMindGeneration.Builder next, Lesson lesson) {
+        try {
+            if (lesson.json != null) learn(next, lesson.json, lesson.file, false);
+            if (lesson.skill != null) learn(next, lesson.skill, lesson.skillid, false);
+            if (lesson.aiml != null) next.replaceIntents(lesson.skillid, lesson.aiml);
+            this.compileTimes.put(lesson.file, lesson.compileTime);
+            SusiMindSnapshot snapshot = this.snapshot;
+            if (snapshot != null) {
+                if (lesson.snapshot == null) snapshot.remove(lesson.file); else snapshot.put(lesson.file, lesson.snapshot);
+            }
+        } catch (Throwable e) {
+            DAO.severe("BAD JSON FILE: " + lesson.file.getAbsolutePath() + ", " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * learn a set of skill files in one step: all lessons are published in one new generation
+     * @param lessons the parsed skill files
+     */
+    void learnLessons(List<Lesson> lessons) {
+        learnLessons(lessons, new ArrayList<>(0));
+    }
+
+    /**
+     * forget deleted skill files and learn a set of skill files in one step. A new generation copies the
+     * maps of the previous generation, therefore all changes which are known at one time are published together.
+     * The files are observed only after the generation is published; if learning fails, the next scan repeats it.
+     * @param lessons the parsed skill files
+     * @param deleted skill files or directories which were deleted
+     */
+    void learnLessons(List<Lesson> lessons, List<File> deleted) {
+        if (lessons.isEmpty() && deleted.isEmpty()) return;
+        List<File> forgotten = new ArrayList<>();
+        learn(next -> {
+            deleted.forEach(f -> forgotten.addAll(forget(next, f)));
+            lessons.forEach(lesson -> learn(next, lesson));
+        });
+        forgotten.forEach(f -> this.observations.remove(f));
+        lessons.forEach(lesson -> this.observations.put(lesson.file, lesson.modified));
+        prepareIndex();
+    }
+
+    /**
+     * compile the intent index and the rankings of the expected user languages of the latest generation.
+     * This is done after learning, so that the first request does not have to wait for it.
+     * The expected languages are configured with susi.mind.languages; by default these are the languages of the skills.
+     */
+    private void prepareIndex() {
+        SusiMindGeneration generation = this.generation;
+        Set<SusiLanguage> languages = new LinkedHashSet<>();
+        for (String l: DAO.getConfig("susi.mind.languages", new String[0], ",")) {
+            SusiLanguage language = SusiLanguage.parse(l.trim());
+            if (language != SusiLanguage.unknown) languages.add(language);
         }
-        if (f.isDirectory() ) {
-           for (File g: f.listFiles()) {
-           	observe(g, acceptWildcardIntent);
-           }
+        if (languages.isEmpty()) generation.getSkillMetadata().keySet().forEach(skillid -> languages.add(skillid.language()));
+        generation.getIntentIndex().prepare(languages);
+    }
+
+    /**
+     * @return true if all skills of all layers have been loaded
+     */
+    public boolean isReady() {
+        SusiMindWatcher w = this.watcher;
+        return w != null && w.isReady();
+    }
+
+    /**
+     * a report of the loading of the skills: the readiness and the time that was needed to compile each skill file
+     * @param maxFiles the maximum number of files in the report; the files which needed most time are listed first
+     * @return the report
+     */
+    public JSONObject getLoadReport(int maxFiles) {
+        SusiMindWatcher w = this.watcher;
+        JSONObject json = new JSONObject(true);
+        json.put("ready", isReady());
+        json.put("files", this.compileTimes.size());
+        json.put("load_time", w == null ? 0 : w.getLoadTime());
+        long sum = 0;
+        for (Long t: this.compileTimes.values()) sum += t;
+        json.put("compile_time", sum);
+        List<Map.Entry<File, Long>> times = new ArrayList<>(this.compileTimes.entrySet());
+        times.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        JSONObject files = new JSONObject(true);
+        for (int i = 0; i < Math.min(maxFiles, times.size()); i++) files.put(times.get(i).getKey().getAbsolutePath(), times.get(i).getValue());
+        json.put("compile_times", files);
+        return json;
+    }
+
+    /**
+     * forget all skills which had been learned from a file or from the files inside a directory
+     * @param f a skill file or a directory which was deleted
+     */
+    void forget(File f) {
+        learnLessons(new ArrayList<>(0), Collections.singletonList(f));
+    }
+
+    /**
+     * @return the observed files which are forgotten; they stay observed until the change is published
+     */
+    private List<File> forget(SusiMindGeneration.Builder next, File f) {
+        String prefix = f.getAbsolutePath() + File.separator;
+        List<File> forgotten = new ArrayList<>();
+        for (File g: this.observations.keySet()) {
+            if (!g.equals(f) && !g.getAbsolutePath().startsWith(prefix)) continue;
+            DAO.log("forgetting " + g.toString());
+            forgotten.add(g);
+            this.compileTimes.remove(g);
+            if (this.snapshot != null) this.snapshot.remove(g);
+            try {
+                next.unlearn(new SusiSkill.ID(g));
+            } catch (RuntimeException e) {
+                DAO.severe("cannot forget " + g.getAbsolutePath() + ": " + e.getMessage());
+            }
         }
-        //this.intenttrigger.forEach((term, map) -> System.out.println("***DEBUG trigger " + term + " -> " + map.toString()));
+        return forgotten;
+    }
+
+    /**
+     * @return all files which had been learned
+     */
+    Set<File> getObservations() {
+        return this.observations.keySet();
+    }
+
+    static boolean isSkillFile(File f) {
+        String name = f.getName();
+        return !name.startsWith(".") && (name.endsWith(".json") || name.endsWith(".txt") || name.endsWith(".aiml"));
     }
 
     public SusiMind learn(SusiSkill skill, SusiSkill.ID skillid, boolean acceptFocusSkills) {
+        learn(next -> learn(next, skill, skillid, acceptFocusSkills));
+        return this;
+    }
+
+    private void learn(SusiMindGeneration.Builder next, SusiSkill skill, SusiSkill.ID skillid, boolean acceptFocusSkills) {
         assert skill != null;
         assert skillid != null;
 
         // handle focus skills
         if (!acceptFocusSkills && skill.getOn() != null && skill.getOn().length > 0) {
-            String[] on = skill.getOn();
-            for (String o: on) {
-                Set<SusiSkill> skills = this.focusSkills.get(o.toLowerCase());
-                if (skills == null) {
-                    skills = ConcurrentHashMap.newKeySet();
-                    this.focusSkills.put(o.toLowerCase(), skills);
-                }
-                skills.add(skill);
-            }
-            return this;
+            next.unlearn(skillid); // the skill may have been learned before with other focus words or as a conversation skill
+            next.focus(skillid, skill, skill.getOn());
+            return;
         }
 
         // add conversation intents
         final List<SusiPattern> removalPattern = new ArrayList<>();
+        final boolean dynamicContent = skill.getDynamicContent() != null && skill.getDynamicContent().booleanValue();
         List<SusiIntent> intents = skill.getIntents();
         intents.forEach(intent -> {
+            intent.setDynamicContent(dynamicContent);
             // add removal pattern
             //System.out.println("** INTENT KEYS: " + intent.getKeys().toString());
-            intent.getKeys().forEach(key -> {
-                Set<SusiIntent> l = this.intenttrigger.get(key);
-                if (l == null) {
-                    l = ConcurrentHashMap.newKeySet();
-                    this.intenttrigger.put(key, l);
-                }
-                l.add(intent);
-                intent.getUtterances().forEach(utterance -> removalPattern.add(utterance.getPattern()));
-                //intent.getPhrases().forEach(utterance -> this.memories.removeUnanswered(utterance.getPattern()));
-                //System.out.println("***DEBUG: ADD INTENT FOR KEY " + key + ": " + intent.toString());
-            });
+            if (!intent.getKeys().isEmpty()) intent.getUtterances().forEach(utterance -> removalPattern.add(utterance.getPattern()));
 
             if (intent.hasExample())
                 skill.addExample(intent.getExample());
         });
-
-        this.skillMetadata.put(skillid, skill);
+        next.forgetFocus(skillid);
+        next.replaceIntents(skillid, intents);
+        next.putMetadata(skillid, skill);
 
         // finally remove patterns in the memory that are known in a background process
-        if (this.memories != null) new Thread(new Runnable() {
-            @Override
-            public void run() {
-                Thread.currentThread().setName("removeUnanswered");
-                for (SusiPattern pattern: removalPattern) {
-                    OnlineCaution.throttle(500);
-                    SusiMind.this.memories.removeUnanswered(pattern.toString());
-                }
-            }
-        }).start();
+        if (this.memories != null) this.memories.reconcile(removalPattern);
+    }
 
+    public SusiMind learn(JSONObject json, File origin, boolean acceptFocusSkills) {
+        learn(next -> learn(next, json, origin, acceptFocusSkills));
         return this;
     }
 
-    public SusiMind learn(JSONObject json, File origin, boolean acceptFocusSkills) {
+    private void learn(SusiMindGeneration.Builder next, JSONObject json, File origin, boolean acceptFocusSkills) {
 
         // detect the language
         SusiSkill.ID skillid = new SusiSkill.ID(origin);
@@ -297,69 +564,59 @@ public class SusiMind {
 
         // handle focus skills
         if (!acceptFocusSkills && json.has("on")) {
+            next.unlearn(skillid); // the skill may have been learned before with other focus words or as a conversation skill
             JSONArray on = json.getJSONArray("on");
-            for (int i = 0; i < on.length(); i++) {
-                String o = on.getString(i);
-                Set<SusiSkill> skills = this.focusSkills.get(o.toLowerCase());
-                if (skills == null) {
-                    skills = ConcurrentHashMap.newKeySet();
-                    this.focusSkills.put(o.toLowerCase(), skills);
-                }
-                skills.add(skill);
-            }
-            return this;
+            String[] o = new String[on.length()];
+            for (int i = 0; i < on.length(); i++) o[i] = on.getString(i);
+            next.focus(skillid, skill, o);
+            return;
         }
 
         // add conversation intents
         final List<SusiPattern> removalPattern = new ArrayList<>();
         JSONArray intentset = json.has("rules") ? json.getJSONArray("rules") : json.has("intents") ? json.getJSONArray("intents") : new JSONArray();
+        final List<SusiIntent> skillintents = new ArrayList<>();
+        final boolean dynamicContent = skill.getDynamicContent() != null && skill.getDynamicContent().booleanValue();
         intentset.forEach(j -> {
             List<SusiIntent> intents = SusiIntent.getIntents(skillid, (JSONObject) j);
             intents.forEach(intent -> {
                 // add removal pattern
-                intent.getKeys().forEach(key -> {
-                    Set<SusiIntent> l = this.intenttrigger.get(key);
-                    if (l == null) {
-                        l = ConcurrentHashMap.newKeySet();
-                        this.intenttrigger.put(key, l);
-                    }
-                    l.add(intent);
-                    intent.getUtterances().forEach(utterance -> removalPattern.add(utterance.getPattern()));
-                    //intent.getPhrases().forEach(utterance -> this.memories.removeUnanswered(utterance.getPattern()));
-                    //System.out.println("***DEBUG: ADD INTENT FOR KEY " + key + ": " + intent.toString());
-                });
+                intent.setDynamicContent(dynamicContent);
+                skillintents.add(intent);
+                if (!intent.getKeys().isEmpty()) intent.getUtterances().forEach(utterance -> removalPattern.add(utterance.getPattern()));
 
                 if (intent.hasExample())
                     skill.addExample(intent.getExample());
             });
         });
-
-        this.skillMetadata.put(skillid, skill);
+        next.forgetFocus(skillid);
+        next.replaceIntents(skillid, skillintents);
+        next.putMetadata(skillid, skill);
 
         // finally remove patterns in the memory that are known in a background process
-        if (this.memories != null) new Thread(new Runnable() {
-            @Override
-            public void run() {
-                removalPattern.forEach(pattern -> SusiMind.this.memories.removeUnanswered(pattern.toString()));
-            }
-        }).start();
-
-        return this;
+        if (this.memories != null) this.memories.reconcile(removalPattern);
     }
 
     public void learn(List<SusiIntent> intents) {
-        intents.forEach(intent -> {
-            // add removal pattern
-            intent.getKeys().forEach(key -> {
-                Set<SusiIntent> l = this.intenttrigger.get(key);
-                if (l == null) {
-                    l = ConcurrentHashMap.newKeySet();
-                    this.intenttrigger.put(key, l);
-                }
-                l.add(intent);
-            });
+        learn(next -> intents.forEach(intent -> next.addIntent(intent)));
+    }
 
-        });
+    /**
+     * forget everything that was learned from a skill: the intents, the metadata and the focus skill
+     * @param skillid the id of the skill
+     * @return the mind
+     */
+    public SusiMind unlearn(SusiSkill.ID skillid) {
+        learn(next -> next.unlearn(skillid));
+        return this;
+    }
+
+    /**
+     * get the compiled intent index of the current generation
+     * @return the intent index for the current intenttrigger
+     */
+    public SusiIntentIndex getIntentIndex() {
+        return this.generation.getIntentIndex();
     }
 
     /**
@@ -368,7 +625,7 @@ public class SusiMind {
      */
     public JSONObject getMind() {
         JSONObject mind = new JSONObject(true);
-        this.intenttrigger.forEach((key, intentmap) -> {
+        this.generation.getIntentTrigger().forEach((key, intentmap) -> {
             JSONArray intents = new JSONArray();
             mind.put(key, intents);
             intentmap.forEach(intent -> {
@@ -395,58 +652,34 @@ public class SusiMind {
      * @return an ordered list of ideas, first idea should be considered first.
      */
     public List<SusiIdea> creativity(String query, SusiLanguage userLanguage, SusiThought latest_thought, int maxcount, boolean debug) {
+        return creativity(this.generation, new SusiQueryContext(query, userLanguage), latest_thought, maxcount, debug);
+    }
+
+    private static List<SusiIdea> creativity(SusiMindGeneration generation, SusiQueryContext context, SusiThought latest_thought, int maxcount, boolean debug) {
         // debugging: write down which intent triggers are stored:
-        //System.out.println("** INTENTTRIGGER: " + this.intenttrigger.keySet().toString());
-
-        // tokenize query to have hint for idea collection
-        final Set<SusiIdea> ideas = new HashSet<>();
-        List<Token> tokenlist = SusiLinguistics.tokenizeSentence(userLanguage, query);
-        tokenlist.forEach(token -> {
-            Set<SusiIntent> intent_for_category = this.intenttrigger.get(token.categorized);
-            Set<SusiIntent> intent_for_original = token.original.equals(token.categorized) ? null : this.intenttrigger.get(token.original);
-            Set<SusiIntent> r = ConcurrentHashMap.newKeySet();
-            if (intent_for_category != null) r.addAll(intent_for_category);
-            if (intent_for_original != null) r.addAll(intent_for_original);
-            r.forEach(intent -> ideas.add(new SusiIdea(intent)));
-        });
+        //System.out.println("** INTENTTRIGGER: " + generation.getIntentTrigger().keySet().toString());
 
-        //for (SusiIdea idea: ideas) DAO.log("idea.phrase-1: score=" + idea.getIntent().getScore(userLanguage).score + " : " + idea.getIntent().getUtterances().toString() + " " + idea.getIntent().getActionsClone());
-
-        // add catchall intents always (those are the 'bad ideas')
-        Collection<SusiIntent> ca = this.intenttrigger.get(SusiIntent.CATCHALL_KEY);
-        if (ca != null) ca.forEach(intent -> ideas.add(new SusiIdea(intent)));
-
-        // create list of all ideas that might apply
-        TreeMap<Long, List<SusiIdea>> scored = new TreeMap<>();
-        AtomicLong count = new AtomicLong(0);
-        ideas.forEach(idea -> {
-            SusiIntent intent = idea.getIntent();
-            Score score = intent.getScore(userLanguage);
-            assert score != null : "query = " + query;
-            if (score != null) {
-                long s = score.score;
-                long orderkey = Long.MAX_VALUE - s * 1000L + count.incrementAndGet(); // reverse the ordering: first element has then highest score
-                List<SusiIdea> r = scored.get(orderkey);
-                if (r == null) {r = new ArrayList<>(); scored.put(orderkey, r);}
-                r.add(idea);
-            }
-        });
+        // the tokens of the query are the hint for idea collection
+        SusiLanguage userLanguage = context.getLanguage();
+        Set<String> keys = context.getKeys();
 
-        // make a sorted list of all ideas
-        final List<SusiIdea> sortedIdeas = new ArrayList<>(scored.size());
-        scored.values().forEach(r -> sortedIdeas.addAll(r));
+        // walk through all intents for the keys and the catchall intents (those are the 'bad ideas'),
+        // ordered by their score: the first candidate has the highest score
+        String lowercaseQuery = context.getLowercase();
+        SusiIntentIndex index = generation.getIntentIndex();
+        SusiIntentIndex.Candidates candidates = index.candidates(keys, lowercaseQuery, userLanguage);
 
-        //for (SusiIdea idea: ideas) DAO.log("idea.phrase-2: score=" + idea.getIntent().getScore(userLanguage).score + " : " + idea.getIntent().getUtterances().toString() + " " + idea.getIntent().getActionsClone());
+        // scan the query once to find out which utterances may match at all
+        SusiIntentIndex.Prefilter prefilter = index.prefilter(lowercaseQuery);
 
-        // test ideas and collect those which match up to maxcount
+        // test candidates and collect those which match up to maxcount
         List<SusiIdea> plausibleIdeas = new ArrayList<>(Math.min(10, maxcount));
-        for (SusiIdea idea: sortedIdeas) {
-            SusiIntent intent = idea.getIntent();
-            LinkedHashSet<SusiMatcher> matchers = intent.matcher(query);
+        SusiIntent intent;
+        while ((intent = candidates.next()) != null) {
+            LinkedHashSet<SusiMatcher> matchers = intent.matcher(lowercaseQuery, prefilter);
             if (matchers.isEmpty()) continue;
-            idea.setMatchers(matchers);
             // TODO: evaluate leading SEE flow commands right here as well
-            plausibleIdeas.add(idea);
+            plausibleIdeas.add(new SusiIdea(intent).setMatchers(matchers));
             if (plausibleIdeas.size() >= maxcount) break;
         }
 
@@ -472,9 +705,10 @@ public class SusiMind {
             final SusiMind... mindLayers) {
         SusiThought thought = null;
         int mindcount = 0;
+        SusiReflectionMemo memo = new SusiReflectionMemo(); // one memo for the whole request
         while (thought == null && mindcount < mindLayers.length) {
             SusiMind mindlayer = mindLayers[mindcount++];
-            thought = mindlayer.react(query, userLanguage, identity, debug, observation, mindLayers);
+            thought = mindlayer.react(query, userLanguage, identity, debug, observation, memo, mindLayers).answer;
         }
         return thought;
     }
@@ -489,54 +723,118 @@ public class SusiMind {
      * @return
      */
     public SusiThought react(String query, SusiLanguage userLanguage, ClientIdentity identity, boolean debug, SusiThought observation, SusiMind... minds) {
+        return react(query, userLanguage, identity, debug, observation, new SusiReflectionMemo(), minds).answer;
+    }
+
+    /**
+     * react on a user input
+     * @param memo the reflection memo of the current request
+     * @return the outcome of the reaction: the answer and the intent which produced the answer; the answer is null if the reaction failed
+     */
+    private Outcome react(String query, SusiLanguage userLanguage, ClientIdentity identity, boolean debug, SusiThought observation, SusiReflectionMemo memo, SusiMind... minds) {
         // get the history a list of thoughts
         long t0 = System.currentTimeMillis();
         SusiArgument observation_argument = new SusiArgument(identity, userLanguage);
         if (observation != null && !observation.isFailed()) observation_argument.think(observation);
-        List<SusiCognition> cognitions = this.memories == null ? new ArrayList<>() : this.memories.getCognitions(identity.getClient(), true);
+        List<SusiThought> disputes = this.memories == null ? new ArrayList<>() : this.memories.getMemory(identity.getClient(), true).getRecall();
         long t1 = System.currentTimeMillis();
         // latest cognition is first in list
-        cognitions.forEach(cognition -> observation_argument.think(cognition.recallDispute()));
+        disputes.forEach(dispute -> observation_argument.think(dispute));
         long t2 = System.currentTimeMillis();
         // perform a mindmeld to create a single thought out of the recalled argument
         // the mindmeld will squash the latest thoughts into one so it does not pile up to exponential growth
         SusiThought recall = observation_argument.mindmeld(false);
         long t3 = System.currentTimeMillis();
 
-        // normalize the query
-        query = SusiUtterance.normalizeExpression(query);
+        // normalize the query; the context is shared by all mind layers and reflections of the request
+        SusiQueryContext context = memo.context(query, userLanguage);
+        query = context.getNormalized();
+
+        // the whole reaction uses one generation of the mind, even if the mind learns in the meantime
+        final SusiMindGeneration generation = this.generation;
 
-        // find an answer
+        // find an answer: first look into the cache of answers from static intents
         SusiThought answer = null;
-        List<SusiIdea> ideas = creativity(query, userLanguage, recall, 100, debug); // create a list of ideas which are possible intents
+        SusiIntent answerIntent = null;
+        String answerCacheKey = debug || this.answerCache == null ? null : userLanguage.name() + "\n" + query;
+        StaticAnswer staticAnswer = answerCacheKey == null ? null : this.answerCache.get(answerCacheKey);
+        if (staticAnswer != null && staticAnswer.generation == generation.getGeneration()) {
+            answer = staticAnswer.answer(recall, identity, userLanguage, memo, minds);
+            answerIntent = staticAnswer.intent;
+        }
+        if (answerCacheKey != null) (answer == null ? answerCacheMisses : answerCacheHits).incrementAndGet();
+        List<SusiIdea> ideas = answer != null ? new ArrayList<>(0) : creativity(generation, context, recall, 100, debug); // create a list of ideas which are possible intents
         long t4 = System.currentTimeMillis();
 
         // test all ideas: the ideas are ranked in such a way that the best one is considered first
         JSONArray testedIdeaQueryPatterns = new JSONArray();
-        ideatest: for (SusiIdea idea: ideas) {
-            // compute an argument: because one intent represents a horn clause, the argument is a deduction track, a "proof" of the result.
-            long t5 = System.currentTimeMillis();
-            SusiArgument argument = idea.consideration(recall, identity, userLanguage, minds);
-            long t6 = System.currentTimeMillis();
-            if (t6 - t5 > 100) DAO.log("=== Wasted " + (t6 - t5) + " milliseconds with intent " + idea.getIntent().toJSON());
-
-            // arguments may fail; a failed proof is one which does not exist. Therefore an argument may be empty
-            if (argument == null) {
-                testedIdeaQueryPatterns.put(new JSONObject().put(idea.getIntent().getUtterancesSample(), "fail"));
-                continue ideatest; // consider only sound arguments
+        int parallel = parallelIdeas();
+        int tested = 0, winner = -1;
+        if (parallel > 1 && ideas.size() > 1 && !PARALLEL_EVALUATION.get()) {
+            // speculative evaluation of the top ideas: all of them are evaluated concurrently,
+            // but the result is taken in the order of the ideas. If the pool is busy, the speculation
+            // is skipped and the remaining ideas are evaluated sequentially below.
+            int window = Math.min(parallel, ideas.size());
+            List<Future<Outcome>> futures = new ArrayList<>(window);
+            submit: for (int i = 0; i < window; i++) {
+                final SusiIdea idea = ideas.get(i);
+                try {
+                    futures.add(getIdeaExecutor().submit(() -> {
+                        boolean nested = PARALLEL_EVALUATION.get();
+                        PARALLEL_EVALUATION.set(true); // reactions inside this evaluation must not use the pool again
+                        try {
+                            return evaluate(idea, recall, identity, userLanguage, debug, memo, minds);
+                        } finally {
+                            PARALLEL_EVALUATION.set(nested);
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    break submit;
+                }
             }
-            try {
-                answer = argument.finding(identity, userLanguage, debug, minds);
-                testedIdeaQueryPatterns.put(new JSONObject().put(idea.getIntent().getUtterancesSample(), "success"));
-                 // a valid idea
-                break;
-            } catch (ReactionException e) {
-                // this happens when the reaction process tries to resolve a reflection and gets a SABTA response
-                testedIdeaQueryPatterns.put(new JSONObject().put(idea.getIntent().getUtterancesSample(), e.getMessage()));
-                // a bad argument (this is not a runtime error, it is a signal that the thought cannot be thought to the end
-                continue ideatest;
+            ideatest: for (int i = 0; i < futures.size(); i++) {
+                Outcome outcome;
+                try {
+                    outcome = futures.get(i).get();
+                } catch (InterruptedException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    Thread.currentThread().interrupt();
+                    return new Outcome(null, null, "interrupted");
+                } catch (ExecutionException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    if (cause instanceof Error) throw (Error) cause;
+                    throw new RuntimeException(cause);
+                }
+                tested++;
+                testedIdeaQueryPatterns.put(new JSONObject().put(ideas.get(i).getIntent().getUtterancesSample(), outcome.status));
+                if (outcome.answer != null) {
+                    answer = outcome.answer;
+                    answerIntent = outcome.intent;
+                    winner = i;
+                    // a valid idea: the lower-ranked ideas are not needed any more
+                    for (int j = i + 1; j < futures.size(); j++) futures.get(j).cancel(true);
+                    break ideatest;
+                }
+            }
+        }
+        if (answer == null) ideatest: for (int i = tested; i < ideas.size(); i++) {
+            SusiIdea idea = ideas.get(i);
+            Outcome outcome = evaluate(idea, recall, identity, userLanguage, debug, memo, minds);
+            testedIdeaQueryPatterns.put(new JSONObject().put(idea.getIntent().getUtterancesSample(), outcome.status));
+            if (outcome.answer != null) {
+                answer = outcome.answer;
+                answerIntent = outcome.intent;
+                winner = i;
+                break ideatest; // a valid idea
             }
         }
+
+        // remember the answer if the best idea is a static intent; such an intent is always the winner for the same query
+        if (winner == 0 && answerCacheKey != null && answerIntent != null && answerIntent.isStatic()) {
+            this.answerCache.put(answerCacheKey, new StaticAnswer(ideas.get(0), answer, generation.getGeneration()));
+        }
         if (answer != null && debug) answer.addTrace(testedIdeaQueryPatterns);
         long t7 = System.currentTimeMillis();
         //DAO.log("+++ react run time: " + (t1 - t0) + " milliseconds - getCognitions");
@@ -561,20 +859,151 @@ public class SusiMind {
                 }
             }
         }
-        return answer;
+        return new Outcome(answer, answerIntent, answer == null ? "fail" : "success");
+    }
+
+    private final static AtomicLong answerCacheHits = new AtomicLong(0), answerCacheMisses = new AtomicLong(0);
+
+    /**
+     * The answer of a static intent on a specific query. It stores the keynote, which is the data that the
+     * matcher of the intent extracted from the query, and the applied actions if the intent has a fixed answer.
+     * The recall of the user is not part of the answer; it is added each time when the answer is used.
+     * The answer is valid as long as the generation of the mind does not change.
+     */
+    private static class StaticAnswer {
+        private final SusiIntent intent;
+        private final String keynote;
+        private final String actions; // the serialized applied actions or null if these must be computed again
+        private final long generation;
+
+        private StaticAnswer(SusiIdea idea, SusiThought answer, long generation) {
+            this.intent = idea.getIntent();
+            this.keynote = new SusiThought(idea.getMatchers().iterator().next()).toJSON().toString();
+            JSONArray a = this.intent.hasFixedAnswer() ? answer.toJSON().optJSONArray("actions") : null;
+            this.actions = a == null ? null : a.toString();
+            this.generation = generation;
+        }
+
+        private SusiThought answer(SusiThought recall, ClientIdentity identity, SusiLanguage userLanguage, SusiReflectionMemo memo, SusiMind... minds) {
+            SusiArgument argument = new SusiIdea(this.intent).setKeynote(this.keynote).consideration(recall, identity, userLanguage, memo, minds);
+            if (argument == null) return null;
+            try {
+                return this.actions == null ?
+                        argument.finding(identity, userLanguage, false, minds) :
+                        argument.finding(identity, userLanguage, false, new JSONArray(new JSONTokener(this.actions)), minds);
+            } catch (ReactionException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @return hit and miss counters of the answer cache of static intents
+     */
+    public static JSONObject getAnswerCacheStatistics() {
+        JSONObject json = new JSONObject(true);
+        json.put("hits", answerCacheHits.get());
+        json.put("misses", answerCacheMisses.get());
+        return json;
+    }
+
+    /**
+     * The outcome of the evaluation of an idea: either an answer or the reason why there is no answer
+     */
+    private static class Outcome {
+        private final SusiThought answer;
+        private final SusiIntent intent;
+        private final String status;
+        private Outcome(SusiThought answer, SusiIntent intent, String status) {
+            this.answer = answer;
+            this.intent = intent;
+            this.status = status;
+        }
+    }
+
+    /**
+     * evaluate one idea: compute the argument and the finding
+     * @return the outcome, containing the answer if the idea was successful
+     */
+    private static Outcome evaluate(SusiIdea idea, SusiThought recall, ClientIdentity identity, SusiLanguage userLanguage, boolean debug, SusiReflectionMemo memo, SusiMind... minds) {
+        // compute an argument: because one intent represents a horn clause, the argument is a deduction track, a "proof" of the result.
+        long t5 = System.currentTimeMillis();
+        SusiArgument argument = idea.consideration(recall, identity, userLanguage, memo, minds);
+        long t6 = System.currentTimeMillis();
+        if (t6 - t5 > 100) DAO.log("=== Wasted " + (t6 - t5) + " milliseconds with intent " + idea.getIntent().toJSON());
+
+        // arguments may fail; a failed proof is one which does not exist. Therefore an argument may be empty
+        if (argument == null) return new Outcome(null, null, "fail"); // consider only sound arguments
+        try {
+            return new Outcome(argument.finding(identity, userLanguage, debug, minds), idea.getIntent(), "success");
+        } catch (ReactionException e) {
+            // this happens when the reaction process tries to resolve a reflection and gets a SABTA response
+            // a bad argument (this is not a runtime error, it is a signal that the thought cannot be thought to the end
+            return new Outcome(null, null, e.getMessage());
+        }
+    }
+
+    // the speculative evaluation of ideas is switched off by default; set susi.react.parallel to the number of
+    // top-ranked ideas which shall be evaluated concurrently. That must only be used if the skills do not have
+    // side-effects in their console or memory operations which must not happen for ideas that are not taken.
+    private final static ThreadLocal<Boolean> PARALLEL_EVALUATION = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static ThreadPoolExecutor ideaExecutor = null;
+
+    private static int parallelIdeas() {
+        return (int) DAO.getConfig("susi.react.parallel", 0L);
+    }
+
+    private static synchronized ThreadPoolExecutor getIdeaExecutor() {
+        if (ideaExecutor == null) {
+            int threads = (int) DAO.getConfig("susi.react.threads", 16L);
+            ideaExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(threads * 4), r -> {
+                Thread t = new Thread(r, "SusiMind.react idea evaluation");
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.AbortPolicy()); // a busy pool rejects the speculation, it is never run in the request thread
+            ideaExecutor.allowCoreThreadTimeOut(true);
+        }
+        return ideaExecutor;
     }
 
     public class Reaction {
         private List<SusiAction> actions;
         private SusiThought mindstate;
+        private SusiIntent intent;
 
         public Reaction(String query, SusiLanguage userLanguage, ClientIdentity identity, boolean debug, SusiThought observation, SusiMind... minds) throws ReactionException {
-            this.mindstate = react(query, userLanguage, identity, debug, observation, minds);
+            this(query, userLanguage, identity, debug, observation, new SusiReflectionMemo(), minds);
+        }
+
+        public Reaction(String query, SusiLanguage userLanguage, ClientIdentity identity, boolean debug, SusiThought observation, SusiReflectionMemo memo, SusiMind... minds) throws ReactionException {
+            Outcome outcome = react(query, userLanguage, identity, debug, observation, memo, minds);
+            this.intent = outcome.intent;
+            init(outcome.answer);
+        }
+
+        /**
+         * create a reaction from a mindstate which was computed before
+         * @param mindstate the result of a reaction
+         */
+        Reaction(SusiThought mindstate) throws ReactionException {
+            this.intent = null;
+            init(mindstate);
+        }
+
+        private void init(SusiThought mindstate) throws ReactionException {
+            this.mindstate = mindstate;
             if (this.mindstate == null) throw new ReactionException("no thoughts generated"); // that should be semantically correct if the deduction fails
             this.actions = this.mindstate.getActions(false);
             if (actions.isEmpty()) throw new ReactionException("this mind has no idea what it should do.");
         }
 
+        /**
+         * @return the intent which produced the reaction or null if that is not known
+         */
+        public SusiIntent getIntent() {
+            return this.intent;
+        }
+
         public List<SusiAction> getActions() {
             return this.actions;
         }
@@ -701,7 +1130,7 @@ public class SusiMind {
         SusiMind.Layer testlayer = new SusiMind.Layer("test", FileSystems.getDefault().getPath("conf", "os_skills", "test", "en", "alarm.txt").toFile(), true);
         mem.addLayer(testlayer);
         try {mem.observe();} catch (IOException e1) {}
-        mem.skillMetadata.values().forEach(skill -> System.out.println(skill.toJSON().toString(2)));
+        mem.getSkillMetadata().values().forEach(skill -> System.out.println(skill.toJSON().toString(2)));
         SusiThought mindstate = mem.react("set an alarm in one minute", SusiLanguage.unknown, ClientIdentity.ANONYMOUS, true, new SusiThought(), mem);
         List<SusiAction> actions = mindstate.getActions(false);
         System.out.println(actions);
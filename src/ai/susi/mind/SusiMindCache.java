@@ -0,0 +1,151 @@
+/**
+ *  SusiMindCache
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONObject;
+
+import ai.susi.mind.SusiAction.SusiActionException;
+
+/**
+ * A cache for ephemeral minds: the minds which are made for a single request from an instant skill text,
+ * a dream, a persona, a focus skill or a private skill. A compiled mind does not contain any user state,
+ * therefore it can be used for all requests with the same skill. The key of a mind is either the hash of the
+ * skill text or the path, modification time and length of the skill file. The cache is limited by the sum
+ * of the weights of all minds, which is the size of the skill text in bytes; the least recently used minds are
+ * removed first.
+ */
+public class SusiMindCache {
+
+    /**
+     * A compiler creates the mind if it is not in the cache
+     */
+    public interface Compiler {
+        public SusiMind compile() throws IOException, SusiActionException;
+    }
+
+    private static class Entry {
+        private final SusiMind mind;
+        private final long weight;
+        private Entry(SusiMind mind, long weight) {
+            this.mind = mind;
+            this.weight = weight;
+        }
+    }
+
+    private final long maxWeight;
+    private final LinkedHashMap<String, Entry> minds; // in access order: the least recently used mind is first
+    private long weight;
+    private final AtomicLong hits, misses;
+
+    /**
+     * create a mind cache
+     * @param maxWeight the maximum sum of the weights of all minds; 0 switches the cache off
+     */
+    public SusiMindCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.minds = new LinkedHashMap<>(16, 0.75f, true);
+        this.weight = 0;
+        this.hits = new AtomicLong(0);
+        this.misses = new AtomicLong(0);
+    }
+
+    /**
+     * get a mind from the cache or compile it
+     * @param key the key of the mind
+     * @param weight the estimated size of the mind, the size of the skill text in bytes
+     * @param compiler the compiler which creates the mind if it is not in the cache
+     * @return the mind or null if the compiler returns null
+     * @throws IOException
+     * @throws SusiActionException
+     */
+    public SusiMind get(String key, long weight, Compiler compiler) throws IOException, SusiActionException {
+        synchronized (this.minds) {
+            Entry entry = this.minds.get(key);
+            if (entry != null) {
+                this.hits.incrementAndGet();
+                return entry.mind;
+            }
+        }
+        this.misses.incrementAndGet();
+        SusiMind mind = compiler.compile(); // concurrent compilation of the same mind is possible but harmless
+        if (mind == null || weight > this.maxWeight) return mind;
+        synchronized (this.minds) {
+            Entry old = this.minds.put(key, new Entry(mind, weight));
+            if (old != null) this.weight -= old.weight;
+            this.weight += weight;
+            Iterator<Entry> i = this.minds.values().iterator();
+            while (this.weight > this.maxWeight && i.hasNext()) {
+                this.weight -= i.next().weight;
+                i.remove();
+            }
+        }
+        return mind;
+    }
+
+    /**
+     * the key of a mind which is compiled from a skill file
+     * @param kind the kind of the mind, i.e. "persona"
+     * @param f the skill file
+     * @return the key
+     */
+    public static String fileKey(String kind, File f) {
+        return kind + "\n" + f.getAbsolutePath() + "\n" + f.lastModified() + "\n" + f.length();
+    }
+
+    /**
+     * remove all minds which were compiled from a skill file; this must be called if the skill file is changed or deleted
+     * @param f the skill file
+     */
+    public void invalidate(File f) {
+        String path = "\n" + f.getAbsolutePath() + "\n";
+        synchronized (this.minds) {
+            Iterator<Map.Entry<String, Entry>> i = this.minds.entrySet().iterator();
+            while (i.hasNext()) {
+                Map.Entry<String, Entry> entry = i.next();
+                if (entry.getKey().indexOf(path) < 0) continue;
+                this.weight -= entry.getValue().weight;
+                i.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the size, weight and hit counters of the cache
+     */
+    public JSONObject getStatistics() {
+        JSONObject json = new JSONObject(true);
+        synchronized (this.minds) {
+            json.put("size", this.minds.size());
+            json.put("weight", this.weight);
+        }
+        json.put("max_weight", this.maxWeight);
+        json.put("hits", this.hits.get());
+        json.put("misses", this.misses.get());
+        return json;
+    }
+
+}
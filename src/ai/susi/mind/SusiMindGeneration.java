@@ -0,0 +1,257 @@
+/**
+ *  SusiMindGeneration
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A mind generation is the complete knowledge of a mind at one moment: the intent trigger, the focus skills
+ * and the skill metadata. A generation is never changed. Learning creates a new generation from the latest one
+ * with a builder and the mind publishes the new generation in one step; a reaction uses one generation from
+ * the beginning to the end. Therefore readers do not need locks and never see a half-learned skill.
+ */
+public class SusiMindGeneration {
+
+    private final long generation;                                 // a number which is increased with every new generation
+    private final Map<String, Set<SusiIntent>> intenttrigger;      // a map from a keyword to a set of intents
+    private final Map<String, Set<SusiSkill>> focusSkills;         // a map from the on-word to the focus skills
+    private final Map<SusiSkill.ID, SusiSkill> skillMetadata;      // a map from skill path to description
+    private final Map<SusiSkill.ID, List<SusiIntent>> skillIntents; // a record of the intents which each skill contributed to the intenttrigger
+    private final Map<SusiSkill.ID, SusiSkill> skillFocus;         // a record of the focus skills which each skill contributed to the focusSkills
+    private volatile SusiIntentIndex intentIndex;                  // the compiled intenttrigger, computed with the first use
+
+    /**
+     * the empty generation
+     */
+    public SusiMindGeneration() {
+        this.generation = 0;
+        this.intenttrigger = Collections.emptyMap();
+        this.focusSkills = Collections.emptyMap();
+        this.skillMetadata = Collections.unmodifiableMap(new TreeMap<>());
+        this.skillIntents = Collections.emptyMap();
+        this.skillFocus = Collections.emptyMap();
+        this.intentIndex = null;
+    }
+
+    private SusiMindGeneration(Builder builder) {
+        this.generation = builder.generation;
+        builder.intenttrigger.replaceAll((key, intents) -> builder.copied.contains(key) ? Collections.unmodifiableSet(intents) : intents);
+        builder.focusSkills.replaceAll((on, skills) -> builder.copiedFocus.contains(on) ? Collections.unmodifiableSet(skills) : skills);
+        this.intenttrigger = Collections.unmodifiableMap(builder.intenttrigger);
+        this.focusSkills = Collections.unmodifiableMap(builder.focusSkills);
+        this.skillMetadata = Collections.unmodifiableMap(builder.skillMetadata);
+        this.skillIntents = Collections.unmodifiableMap(builder.skillIntents);
+        this.skillFocus = Collections.unmodifiableMap(builder.skillFocus);
+        this.intentIndex = null;
+    }
+
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    public Map<String, Set<SusiIntent>> getIntentTrigger() {
+        return this.intenttrigger;
+    }
+
+    public Set<SusiSkill> getFocusSkills(String on) {
+        return this.focusSkills.get(on.toLowerCase());
+    }
+
+    public Map<SusiSkill.ID, SusiSkill> getSkillMetadata() {
+        return this.skillMetadata;
+    }
+
+    /**
+     * get the compiled intent index of this generation. The index is computed once with the first call.
+     * @return the intent index
+     */
+    public SusiIntentIndex getIntentIndex() {
+        SusiIntentIndex index = this.intentIndex;
+        if (index != null) return index;
+        synchronized (this) {
+            if (this.intentIndex == null) this.intentIndex = new SusiIntentIndex(this.intenttrigger, this.generation);
+            return this.intentIndex;
+        }
+    }
+
+    /**
+     * @return a builder for the next generation, starting with the content of this generation
+     */
+    public Builder next() {
+        return new Builder(this);
+    }
+
+    /**
+     * The builder of a new generation. It shares the sets of the previous generation until a set is changed;
+     * a changed set is copied first. A builder must only be used by one thread.
+     */
+    public static class Builder {
+
+        private final long generation;
+        private final Map<String, Set<SusiIntent>> intenttrigger;
+        private final Map<String, Set<SusiSkill>> focusSkills;
+        private final Map<SusiSkill.ID, SusiSkill> skillMetadata;
+        private final Map<SusiSkill.ID, List<SusiIntent>> skillIntents;
+        private final Map<SusiSkill.ID, SusiSkill> skillFocus;
+        private final Set<String> copied, copiedFocus; // the keys of the sets which are owned by this builder
+
+        private Builder(SusiMindGeneration base) {
+            this.generation = base.generation + 1;
+            this.intenttrigger = new HashMap<>(base.intenttrigger);
+            this.focusSkills = new HashMap<>(base.focusSkills);
+            this.skillMetadata = new TreeMap<>(base.skillMetadata);
+            this.skillIntents = new HashMap<>(base.skillIntents);
+            this.skillFocus = new HashMap<>(base.skillFocus);
+            this.copied = new HashSet<>();
+            this.copiedFocus = new HashSet<>();
+        }
+
+        /**
+         * replace the intents of a skill with new intents: all intents which the skill contributed before are removed.
+         * @param skillid the id of the skill
+         * @param intents the new intents of the skill, an empty list to remove the skill
+         * @return the builder
+         */
+        public Builder replaceIntents(SusiSkill.ID skillid, List<SusiIntent> intents) {
+            List<SusiIntent> old = this.skillIntents.remove(skillid);
+            if (old != null) old.forEach(intent -> removeIntent(intent));
+            intents.forEach(intent -> addIntent(intent));
+            if (!intents.isEmpty()) this.skillIntents.put(skillid, Collections.unmodifiableList(new ArrayList<>(intents)));
+            return this;
+        }
+
+        /**
+         * enter an intent into the intenttrigger for all keys of the intent and compile the intent score.
+         * @param intent
+         * @return the builder
+         */
+        public Builder addIntent(SusiIntent intent) {
+            intent.compileScore();
+            intent.getKeys().forEach(key -> {
+                Set<SusiIntent> l = this.intenttrigger.get(key);
+                if (l == null) {
+                    l = new LinkedHashSet<>();
+                    this.intenttrigger.put(key, l);
+                    this.copied.add(key);
+                } else if (this.copied.add(key)) {
+                    l = new LinkedHashSet<>(l);
+                    this.intenttrigger.put(key, l);
+                }
+                l.add(intent);
+            });
+            return this;
+        }
+
+        private void removeIntent(SusiIntent intent) {
+            intent.getKeys().forEach(key -> {
+                Set<SusiIntent> l = this.intenttrigger.get(key);
+                if (l == null || !l.contains(intent)) return;
+                if (this.copied.add(key)) {
+                    l = new LinkedHashSet<>(l);
+                    this.intenttrigger.put(key, l);
+                }
+                l.remove(intent);
+                if (l.isEmpty()) {
+                    this.intenttrigger.remove(key);
+                    this.copied.remove(key);
+                }
+            });
+        }
+
+        /**
+         * enter a focus skill for all of its on-words
+         * @param skillid the id of the skill
+         * @param skill the focus skill
+         * @param on the on-words of the skill
+         * @return the builder
+         */
+        public Builder focus(SusiSkill.ID skillid, SusiSkill skill, String[] on) {
+            this.skillFocus.put(skillid, skill);
+            for (String o: on) {
+                String key = o.toLowerCase();
+                Set<SusiSkill> skills = this.focusSkills.get(key);
+                if (skills == null) {
+                    skills = new LinkedHashSet<>();
+                    this.focusSkills.put(key, skills);
+                    this.copiedFocus.add(key);
+                } else if (this.copiedFocus.add(key)) {
+                    skills = new LinkedHashSet<>(skills);
+                    this.focusSkills.put(key, skills);
+                }
+                skills.add(skill);
+            }
+            return this;
+        }
+
+        /**
+         * remove the focus skill which was contributed by a skill
+         * @param skillid the id of the skill
+         * @return the builder
+         */
+        public Builder forgetFocus(SusiSkill.ID skillid) {
+            SusiSkill focus = this.skillFocus.remove(skillid);
+            if (focus == null) return this;
+            for (String key: new ArrayList<>(this.focusSkills.keySet())) {
+                Set<SusiSkill> skills = this.focusSkills.get(key);
+                if (!skills.contains(focus)) continue;
+                if (this.copiedFocus.add(key)) {
+                    skills = new LinkedHashSet<>(skills);
+                    this.focusSkills.put(key, skills);
+                }
+                skills.remove(focus);
+            }
+            return this;
+        }
+
+        public Builder putMetadata(SusiSkill.ID skillid, SusiSkill skill) {
+            this.skillMetadata.put(skillid, skill);
+            return this;
+        }
+
+        /**
+         * forget everything that was learned from a skill: the intents, the metadata and the focus skill
+         * @param skillid the id of the skill
+         * @return the builder
+         */
+        public Builder unlearn(SusiSkill.ID skillid) {
+            replaceIntents(skillid, new ArrayList<>(0));
+            forgetFocus(skillid);
+            this.skillMetadata.remove(skillid);
+            return this;
+        }
+
+        /**
+         * finish the builder; the builder must not be used afterwards
+         * @return the new generation
+         */
+        public SusiMindGeneration build() {
+            return new SusiMindGeneration(this);
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+/**
+ *  SusiMindSnapshot
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import ai.susi.DAO;
+
+/**
+ * A mind snapshot is a file which contains the compiled skills of a mind: the skill metadata, the intents
+ * and the computed utterance patterns for every skill file. Each entry carries the modification time, the length
+ * and a CRC32 checksum of the content of the skill file; at startup the entries of unchanged files are used instead
+ * of parsing the files again. The checksum is needed because the modification time may have a precision of one
+ * second only, so an edit within the same second which keeps the length would not be noticed otherwise.
+ * The snapshot is a gzipped json file with a version number. If the version does not match, the snapshot is ignored.
+ * Skill files in json format are not part of the snapshot because they are already json.
+ * The state of SusiLinguistics (synonyms, categories and filler words) is not part of the snapshot: it is only
+ * learned from json skills and these are always parsed, so it is rebuilt completely on a warm start as well.
+ * The restored entries are released when the initial layers are loaded; layers which are added later are parsed.
+ */
+public class SusiMindSnapshot {
+
+    // the version must be increased whenever the parsing of skills or the snapshot format changes
+    public final static int VERSION = 1;
+
+    private final File file;
+    private volatile Map<String, JSONObject> restored; // the entries from the snapshot file; every entry is used only once
+    private final Map<String, String> entries;      // the serialized entries of all learned skill files
+    private volatile boolean dirty;
+
+    /**
+     * create a snapshot, the snapshot file is not read yet
+     * @param file the snapshot file
+     */
+    public SusiMindSnapshot(File file) {
+        this.file = file;
+        this.restored = new ConcurrentHashMap<>();
+        this.entries = new ConcurrentHashMap<>();
+        this.dirty = false;
+    }
+
+    /**
+     * read the snapshot file if it exists
+     */
+    public void load() {
+        if (!this.file.exists()) return;
+        long t0 = System.currentTimeMillis();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(this.file)), StandardCharsets.UTF_8))) {
+            JSONObject json = new JSONObject(new JSONTokener(reader));
+            if (json.optInt("version", 0) != VERSION) {
+                DAO.log("ignoring mind snapshot " + this.file + " with version " + json.optInt("version", 0));
+                return;
+            }
+            JSONObject files = json.getJSONObject("files");
+            for (String path: files.keySet()) this.restored.put(path, files.getJSONObject(path));
+            DAO.log("read mind snapshot " + this.file + " with " + this.restored.size() + " skills in " + (System.currentTimeMillis() - t0) + " milliseconds");
+        } catch (Throwable e) {
+            DAO.severe("cannot read mind snapshot " + this.file + ": " + e.getMessage());
+            this.restored.clear();
+        }
+    }
+
+    /**
+     * get the snapshot entry of a skill file if the file is unchanged since the snapshot was made
+     * @param f the skill file
+     * @param acceptWildcardIntent the wildcard permission of the layer of the file
+     * @return the entry or null if there is no valid entry
+     */
+    public JSONObject get(File f, boolean acceptWildcardIntent) {
+        Map<String, JSONObject> r = this.restored;
+        JSONObject entry = r == null ? null : r.remove(f.getAbsolutePath());
+        if (entry == null) return null;
+        if (entry.optLong("modified", 0) != f.lastModified() ||
+            entry.optLong("length", -1) != f.length() ||
+            entry.optBoolean("wildcard", false) != acceptWildcardIntent) return null;
+        try {
+            if (entry.optLong("checksum", -1) != checksum(f)) return null;
+        } catch (IOException e) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * compute the checksum of the content of a file
+     * @param f the file
+     * @return the CRC32 value of the file content
+     * @throws IOException
+     */
+    public static long checksum(File f) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream is = new FileInputStream(f)) {
+            byte[] b = new byte[8192];
+            int n;
+            while ((n = is.read(b)) > 0) crc.update(b, 0, n);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * release the entries of the snapshot file which have not been used; this is done when the initial layers are loaded
+     */
+    public void release() {
+        Map<String, JSONObject> r = this.restored;
+        this.restored = null;
+        if (r != null && !r.isEmpty()) DAO.log("released " + r.size() + " unused entries of mind snapshot " + this.file);
+    }
+
+    /**
+     * get the state of a skill file before it is parsed
+     * @param f the skill file
+     * @param modified the modification time of the file
+     * @return the modification time, length and checksum of the file or null if the file cannot be read
+     */
+    public static JSONObject stamp(File f, long modified) {
+        JSONObject stamp = new JSONObject(true);
+        stamp.put("modified", modified);
+        stamp.put("length", f.length());
+        try {
+            stamp.put("checksum", checksum(f));
+        } catch (IOException e) {
+            return null;
+        }
+        return stamp;
+    }
+
+    /**
+     * create a snapshot entry for a skill file
+     * @param stamp the state of the skill file before it was parsed
+     * @param acceptWildcardIntent the wildcard permission of the layer of the file
+     * @param type the name of the content, i.e. "skill" or "aiml"
+     * @param content the snapshot of the content
+     * @return the entry
+     */
+    public static JSONObject entry(JSONObject stamp, boolean acceptWildcardIntent, String type, Object content) {
+        JSONObject entry = new JSONObject(true);
+        entry.put("modified", stamp.getLong("modified"));
+        entry.put("length", stamp.getLong("length"));
+        entry.put("checksum", stamp.getLong("checksum"));
+        entry.put("wildcard", acceptWildcardIntent);
+        entry.put(type, content);
+        return entry;
+    }
+
+    /**
+     * remember the entry of a skill file which was learned
+     * @param f the skill file
+     * @param entry the snapshot entry
+     */
+    public void put(File f, JSONObject entry) {
+        this.entries.put(f.getAbsolutePath(), entry.toString());
+        this.dirty = true;
+    }
+
+    /**
+     * remove the entry of a skill file which was forgotten
+     * @param f the skill file
+     */
+    public void remove(File f) {
+        if (this.entries.remove(f.getAbsolutePath()) != null) this.dirty = true;
+    }
+
+    /**
+     * write the snapshot file if there were changes since the latest write
+     */
+    public void save() {
+        if (!this.dirty) return;
+        this.dirty = false;
+        long t0 = System.currentTimeMillis();
+        File tmp = new File(this.file.getParentFile(), this.file.getName() + ".tmp");
+        this.file.getParentFile().mkdirs();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(tmp)), StandardCharsets.UTF_8))) {
+            writer.write("{\"version\":" + VERSION + ",\"files\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> entry: this.entries.entrySet()) {
+                if (!first) writer.write(',');
+                writer.write(JSONObject.quote(entry.getKey()));
+                writer.write(':');
+                writer.write(entry.getValue());
+                first = false;
+            }
+            writer.write("}}");
+        } catch (IOException e) {
+            DAO.severe("cannot write mind snapshot " + this.file + ": " + e.getMessage());
+            this.dirty = true;
+            return;
+        }
+        try {
+            Files.move(tmp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            DAO.log("wrote mind snapshot " + this.file + " with " + this.entries.size() + " skills in " + (System.currentTimeMillis() - t0) + " milliseconds");
+        } catch (IOException e) {
+            DAO.severe("cannot write mind snapshot " + this.file + ": " + e.getMessage());
+            this.dirty = true;
+        }
+    }
+
+}
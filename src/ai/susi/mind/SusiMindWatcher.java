@@ -0,0 +1,285 @@
+/**
+ *  SusiMindWatcher
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import ai.susi.DAO;
+
+/**
+ * The mind watcher is a thread which learns the skill files of the layers of a mind.
+ * It first reads all skill files of all layers and then waits for change events from
+ * the file system: new and modified files are learned again (which replaces the intents of
+ * the skill) and deleted files are forgotten. All changes which are signalled at the same time
+ * are learned in one step, so a burst of changes creates only one new generation of the mind. If the file system looses events, all layers are
+ * scanned again; this is also done periodically to repair changes which were missed without an overflow event.
+ * A failure to learn one file is logged and does not stop the watcher; files are observed only when they are
+ * learned, therefore the next scan reads the files of a failed step again.
+ * The first reading of the layers is done concurrently: the skill files are parsed and compiled
+ * on a fork-join pool and the result is learned by the mind in one step. The mind is 'ready'
+ * when all layers are loaded; if loading fails, it is ready after the next complete scan succeeds.
+ */
+public class SusiMindWatcher extends Thread {
+
+    private final SusiMind mind;
+    private final WatchService watchService;
+    private final Map<WatchKey, SusiMind.Layer> keys; // a mapping from the watch key of a directory to the layer of the directory
+    private final List<SusiMind.Layer> layers;
+    private final ConcurrentLinkedQueue<SusiMind.Layer> newLayers;
+    private volatile boolean ready;  // true if all layers are loaded
+    private boolean failed;          // true if the latest loading or complete scan failed
+    private volatile long loadTime;  // the time in milliseconds of the latest loading of new layers
+    private final long rescanInterval; // the time in milliseconds between two complete scans of all layers
+    private long lastScan;            // the time of the latest complete scan
+
+    public SusiMindWatcher(SusiMind mind) throws IOException {
+        super("ObserveLearn");
+        this.setDaemon(true);
+        this.mind = mind;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.keys = new HashMap<>();
+        this.layers = new ArrayList<>();
+        this.newLayers = new ConcurrentLinkedQueue<>();
+        this.ready = false;
+        this.failed = false;
+        this.loadTime = 0;
+        this.rescanInterval = DAO.getConfig("susi.mind.rescan", 600000L);
+        this.lastScan = System.currentTimeMillis();
+    }
+
+    /**
+     * add a layer to the watcher. The layer is scanned in the watcher thread.
+     * @param layer
+     */
+    public void addLayer(SusiMind.Layer layer) {
+        synchronized (this.newLayers) {
+            this.ready = false;
+            this.newLayers.add(layer);
+        }
+    }
+
+    /**
+     * @return true if all layers are loaded
+     */
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    /**
+     * @return the time in milliseconds of the latest loading of new layers
+     */
+    public long getLoadTime() {
+        return this.loadTime;
+    }
+
+    @Override
+    public void run() {
+        this.mind.loadSnapshot();
+        try {
+            while (!this.isInterrupted()) {
+                // load new layers completely
+                SusiMind.Layer layer;
+                List<SusiMind.Layer> load = new ArrayList<>();
+                while ((layer = this.newLayers.poll()) != null) load.add(layer);
+                if (!load.isEmpty()) {
+                    long t0 = System.currentTimeMillis();
+                    try {
+                        load(load);
+                        this.failed = false;
+                    } catch (RuntimeException | ExecutionException e) {
+                        // the next rescan learns the files which are missing now
+                        this.failed = true;
+                        DAO.severe("cannot load mind layers", e);
+                    }
+                    this.layers.addAll(load);
+                    this.lastScan = System.currentTimeMillis();
+                    this.loadTime = this.lastScan - t0;
+                    DAO.log("loaded " + load.size() + " mind layers in " + this.loadTime + " milliseconds");
+                    this.mind.releaseSnapshot();
+                    this.mind.saveSnapshot();
+                }
+                synchronized (this.newLayers) {
+                    this.ready = !this.failed && this.newLayers.isEmpty();
+                }
+
+                // wait for changes
+                WatchKey key = this.watchService.poll(1, TimeUnit.SECONDS);
+                if (key == null) {
+                    if (this.rescanInterval > 0 && System.currentTimeMillis() - this.lastScan > this.rescanInterval) rescan();
+                    this.mind.saveSnapshot(); // write changes when the file system is quiet
+                    continue;
+                }
+                // collect the changed files of all directories which are signalled now
+                Map<File, SusiMind.Layer> changed = new LinkedHashMap<>();
+                boolean overflow = false;
+                while (key != null) {
+                    layer = this.keys.get(key);
+                    Path dir = (Path) key.watchable();
+                    for (WatchEvent<?> event: key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                            continue;
+                        }
+                        if (layer == null) continue;
+                        changed.put(dir.resolve((Path) event.context()).toFile(), layer);
+                    }
+                    if (!key.reset()) this.keys.remove(key); // the directory is not accessible any more
+                    key = this.watchService.poll();
+                }
+                if (overflow) rescan(); else learn(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the watcher was terminated
+        }
+    }
+
+    /**
+     * learn changed files in one step: existing files are read again, missing files are forgotten
+     * @param changed the changed files and directories with their layers
+     */
+    private void learn(Map<File, SusiMind.Layer> changed) {
+        List<SusiMind.Lesson> lessons = new ArrayList<>();
+        List<File> deleted = new ArrayList<>();
+        changed.forEach((f, layer) -> {
+            if (f.exists()) scan(f, layer, lessons); else deleted.add(f);
+        });
+        try {
+            this.mind.learnLessons(lessons, deleted);
+        } catch (RuntimeException e) {
+            DAO.severe("cannot learn " + lessons.size() + " changed skill files", e);
+        }
+    }
+
+    /**
+     * read a skill file or all skill files within a directory if they are new or modified
+     * and register all directories at the watch service
+     */
+    private void scan(File f, SusiMind.Layer layer, List<SusiMind.Lesson> lessons) {
+        if (f.isDirectory()) {
+            register(f, layer);
+            File[] files = f.listFiles();
+            if (files != null) for (File g: files) scan(g, layer, lessons);
+        } else {
+            try {
+                SusiMind.Lesson lesson = this.mind.read(f, layer.os);
+                if (lesson != null) lessons.add(lesson);
+            } catch (RuntimeException e) {
+                DAO.severe("cannot learn " + f.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    /**
+     * load layers: all directories are registered at the watch service, then the skill files are
+     * read concurrently and finally learned by the mind in one step
+     */
+    private void load(List<SusiMind.Layer> load) throws InterruptedException, ExecutionException {
+        final List<File> files = new ArrayList<>();
+        final List<SusiMind.Layer> owners = new ArrayList<>();
+        for (SusiMind.Layer layer: load) collect(layer.path, layer, files, owners);
+        int threads = (int) DAO.getConfig("susi.mind.load.threads", 0L);
+        ForkJoinPool pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        try {
+            // a parallel stream which is started inside of a fork-join pool uses the threads of that pool
+            List<SusiMind.Lesson> lessons = pool.submit(() -> IntStream.range(0, files.size()).parallel()
+                    .mapToObj(i -> this.mind.read(files.get(i), owners.get(i).os))
+                    .filter(lesson -> lesson != null)
+                    .collect(Collectors.toList())).get();
+            this.mind.learnLessons(lessons);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * register all directories at the watch service and collect the skill files
+     */
+    private void collect(File f, SusiMind.Layer layer, List<File> files, List<SusiMind.Layer> owners) {
+        if (f.isDirectory()) {
+            register(f, layer);
+            File[] list = f.listFiles();
+            if (list != null) for (File g: list) collect(g, layer, files, owners);
+        } else if (SusiMind.isSkillFile(f)) {
+            files.add(f);
+            owners.add(layer);
+        }
+    }
+
+    private void register(File dir, SusiMind.Layer layer) {
+        // the directory is registered before it is listed to get the events of files which appear during the listing
+        try {
+            this.keys.put(dir.toPath().register(this.watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), layer);
+        } catch (IOException e) {
+            DAO.severe("cannot watch " + dir.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * scan all layers again; this is done if the file system has lost events and periodically.
+     * Unchanged files are recognized by their modification time and are not learned again.
+     */
+    private void rescan() {
+        this.lastScan = System.currentTimeMillis();
+        List<SusiMind.Lesson> lessons = new ArrayList<>();
+        List<File> deleted = new ArrayList<>();
+        for (File f: this.mind.getObservations()) {
+            if (!f.exists()) deleted.add(f);
+        }
+        for (SusiMind.Layer layer: this.layers) scan(layer.path, layer, lessons);
+        try {
+            this.mind.learnLessons(lessons, deleted);
+            this.failed = false;
+        } catch (RuntimeException e) {
+            DAO.severe("cannot learn " + lessons.size() + " skill files of the rescan", e);
+        }
+    }
+
+    /**
+     * stop the watcher thread
+     */
+    public void close() {
+        this.interrupt();
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+        }
+    }
+
+}
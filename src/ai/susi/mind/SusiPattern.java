@@ -19,7 +19,8 @@
 
 package ai.susi.mind;
 
-import java.util.regex.Matcher;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -38,20 +39,130 @@ public class SusiPattern {
     private final static Pattern SPACE_PATTERN = Pattern.compile(" ");
     private final static Pattern REVERSE_WILDCARD = Pattern.compile(Pattern.quote("(.*)"));
 
+    private final static String[] WILDCARDS = new String[] {"(.*)", "(?:.*)", "(^\\S+)"};
+    private final static String ESCAPABLE = "[]().?*+{}|^$\\";
+
     private final Object pattern; // will contain either String or Pattern objects
+    private final String literal; // the unescaped literal if this is not a compiled pattern, otherwise null
+    private final Anchors anchors; // literal fragments of a compiled pattern, or null if they cannot be computed
 
     public SusiPattern(String expression, boolean compileToPattern) throws PatternSyntaxException {
         //compileToPattern = true; // for debugging
         if (compileToPattern) try {
             this.pattern = Pattern.compile(expression);
+            this.literal = null;
+            this.anchors = Anchors.parse(expression);
         } catch (PatternSyntaxException e) {
             // we throw the same exception here to make it possible to debug the event here with a breakpoint
             throw new PatternSyntaxException(e.getDescription(), e.getPattern(), e.getIndex());
         } else {
             this.pattern = expression;
+            this.literal = expression.replace("\\", "");
+            this.anchors = null;
+        }
+    }
+
+    /**
+     * Anchors are the literal fragments of a pattern which has been produced from the simple wildcard form
+     * of utterances. Every fragment must appear in a matching string in the given order. If the pattern
+     * starts or ends with a literal fragment, a matching string must start or end with that fragment.
+     * This can be used to reject strings before the regular expression is applied.
+     */
+    public static class Anchors {
+
+        public final String[] fragments;
+        public final boolean prefix, suffix;
+
+        private Anchors(List<String> fragments, boolean prefix, boolean suffix) {
+            this.fragments = fragments.toArray(new String[fragments.size()]);
+            this.prefix = prefix && this.fragments.length > 0;
+            this.suffix = suffix && this.fragments.length > 0;
+        }
+
+        /**
+         * parse a regular expression into anchors
+         * @param expression the regular expression
+         * @return the anchors or null if the expression contains anything else than literals, wildcards and optional characters
+         */
+        private static Anchors parse(String expression) {
+            List<String> fragments = new ArrayList<>();
+            StringBuilder fragment = new StringBuilder();
+            boolean prefix = true, suffix = true;
+            int i = 0;
+            scan: while (i < expression.length()) {
+                for (String w: WILDCARDS) {
+                    if (expression.startsWith(w, i)) {
+                        if (fragment.length() > 0) fragments.add(fragment.toString());
+                        else if (fragments.isEmpty()) prefix = false;
+                        fragment.setLength(0);
+                        suffix = false;
+                        i += w.length();
+                        continue scan;
+                    }
+                }
+                char c = expression.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 >= expression.length() || ESCAPABLE.indexOf(expression.charAt(i + 1)) < 0) return null; // i.e. \d or \S
+                    fragment.append(expression.charAt(i + 1));
+                    suffix = true;
+                    i += 2;
+                    continue scan;
+                }
+                if (c == '?') {
+                    // the previous character is optional: the fragment ends before that character
+                    if (fragment.length() == 0) return null;
+                    fragment.setLength(fragment.length() - 1);
+                    if (fragment.length() > 0) fragments.add(fragment.toString());
+                    else if (fragments.isEmpty()) prefix = false;
+                    fragment.setLength(0);
+                    suffix = false;
+                    i++;
+                    continue scan;
+                }
+                if (ESCAPABLE.indexOf(c) >= 0) return null; // any other regular expression
+                fragment.append(c);
+                suffix = true;
+                i++;
+            }
+            if (fragment.length() > 0) fragments.add(fragment.toString());
+            return new Anchors(fragments, prefix, suffix);
+        }
+
+        /**
+         * test if a string can match
+         * @param s the string to test
+         * @return false if the string cannot match the pattern of these anchors
+         */
+        public boolean mayMatch(String s) {
+            if (this.fragments.length == 0) return true;
+            if (this.prefix && !s.startsWith(this.fragments[0])) return false;
+            if (this.suffix && !s.endsWith(this.fragments[this.fragments.length - 1])) return false;
+            int p = 0;
+            for (String f: this.fragments) {
+                p = s.indexOf(f, p);
+                if (p < 0) return false;
+                p += f.length();
+            }
+            return true;
         }
     }
 
+    /**
+     * get the literal of this pattern: a string which must be equal to a matching string
+     * @return the literal or null if the pattern is a compiled pattern
+     */
+    public String literal() {
+        return this.literal;
+    }
+
+    /**
+     * get the anchors of this pattern
+     * @return the anchors or null if the pattern is not a compiled pattern or if it has no simple wildcard form
+     */
+    public Anchors anchors() {
+        return this.anchors;
+    }
+
     public String pattern() {
         return this.pattern instanceof Pattern ? ((Pattern) this.pattern).pattern() : (String) this.pattern;
     }
@@ -62,36 +173,36 @@ public class SusiPattern {
 
     public class SusiMatcher {
 
-        private Object matcher; // will contain either String or Matcher objects
+        private Object matcher; // will contain either String or TimeoutMatcher objects
 
         protected SusiMatcher(String s) {
             if (SusiPattern.this.pattern instanceof Pattern) {
-                this.matcher = ((Pattern) SusiPattern.this.pattern).matcher(s);
+                this.matcher = new TimeoutMatcher((Pattern) SusiPattern.this.pattern, s);
             } else {
                 this.matcher = s;
             }
         }
 
         public boolean matches() {
-            return this.matcher instanceof Matcher ?
-                    new TimeoutMatcher((Matcher) this.matcher).matches() :
-                    ((String) SusiPattern.this.pattern).replaceAll("\\\\", "").equals((String) this.matcher);
+            return this.matcher instanceof TimeoutMatcher ?
+                    ((TimeoutMatcher) this.matcher).matches() :
+                    SusiPattern.this.literal.equals((String) this.matcher);
         }
 
         public String group(int g) {
-            return this.matcher instanceof Matcher ?
-                    ((Matcher) this.matcher).group(g) :
+            return this.matcher instanceof TimeoutMatcher ?
+                    ((TimeoutMatcher) this.matcher).matcher().group(g) :
                     null;
         }
 
         public int groupCount() {
-            return this.matcher instanceof Matcher ?
-                    ((Matcher) this.matcher).groupCount() :
+            return this.matcher instanceof TimeoutMatcher ?
+                    ((TimeoutMatcher) this.matcher).matcher().groupCount() :
                     0;
         }
 
         public String toString() {
-            return this.matcher.toString();
+            return this.matcher instanceof TimeoutMatcher ? ((TimeoutMatcher) this.matcher).matcher().toString() : (String) this.matcher;
         }
 
         // implementation of hashCode and equals below to make it possible
@@ -99,8 +210,8 @@ public class SusiPattern {
 
         @Override
         public int hashCode() {
-            if (this.matcher instanceof Matcher) {
-                return ((Matcher) this.matcher).toString().hashCode();
+            if (this.matcher instanceof TimeoutMatcher) {
+                return ((TimeoutMatcher) this.matcher).matcher().toString().hashCode();
             } else {
                 return ((String) this.matcher).hashCode();
             }
@@ -110,9 +221,9 @@ public class SusiPattern {
         public boolean equals(Object o) {
             if (!(o instanceof SusiMatcher)) return false;
             SusiMatcher m = (SusiMatcher) o;
-            if (this.matcher instanceof Matcher) {
-                if (!(m.matcher instanceof Matcher)) return false;
-                return ((Matcher) this.matcher).toString().equals(((Matcher) m.matcher).toString());
+            if (this.matcher instanceof TimeoutMatcher) {
+                if (!(m.matcher instanceof TimeoutMatcher)) return false;
+                return ((TimeoutMatcher) this.matcher).matcher().toString().equals(((TimeoutMatcher) m.matcher).matcher().toString());
             } else {
                 return ((String) this.matcher).equals((String) m.matcher);
             }
@@ -19,20 +19,149 @@
 
 package ai.susi.mind;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import ai.susi.tools.TimeoutMatcher;
 
-public class SusiProcedures extends LinkedHashMap<Pattern, BiFunction<SusiArgument, Matcher, SusiThought>> implements Map<Pattern, BiFunction<SusiArgument, Matcher, SusiThought>> {
+/**
+ * A set of procedures: patterns of expressions and the lambdas which are applied on a matching expression.
+ * Procedures for console services like "SELECT * FROM rss WHERE url = '...'" are registered with the name of the
+ * service; such a procedure is only tried for expressions which select from that service. The service names of
+ * an expression are found with one scan, therefore the cost of a deduction does not depend on the number of
+ * registered services. All other procedures are tried for every expression, in the order of registration.
+ * Procedures can only be registered, therefore the index is always consistent with the registered procedures.
+ */
+public class SusiProcedures {
+
+    private final static Pattern SERVICE_NAME = Pattern.compile("[A-Za-z0-9_]+");
 
-    private static final long serialVersionUID = 4531596762427825563L;
+    private static class Procedure {
+        private final String service; // the name of the service or null if the procedure must be tried for every expression
+        private final Pattern pattern;
+        private final BiFunction<SusiArgument, Matcher, SusiThought> lambda;
+        private final int order;      // the position of the procedure in the order of registration
+        private Procedure(String service, Pattern pattern, BiFunction<SusiArgument, Matcher, SusiThought> lambda, int order) {
+            this.service = service;
+            this.pattern = pattern;
+            this.lambda = lambda;
+            this.order = order;
+        }
+    }
+
+    /**
+     * An index of the procedures. An index is never changed; a registration creates a new index.
+     */
+    private static class Index {
+        private final List<Procedure> all, general;
+        private final Map<String, List<Procedure>> services;
+        private Index(List<Procedure> procedures) {
+            this.all = new ArrayList<>(procedures);
+            this.all.sort((a, b) -> Integer.compare(a.order, b.order));
+            this.general = new ArrayList<>();
+            this.services = new HashMap<>();
+            for (Procedure procedure: this.all) {
+                if (procedure.service == null) this.general.add(procedure); else {
+                    List<Procedure> l = this.services.get(procedure.service);
+                    if (l == null) {l = new ArrayList<>(); this.services.put(procedure.service, l);}
+                    l.add(procedure);
+                }
+            }
+        }
+        private List<Procedure> candidates(String q) {
+            if (this.services.isEmpty()) return this.all;
+            List<Procedure> candidates = null;
+            for (String service: services(q)) {
+                List<Procedure> l = this.services.get(service);
+                if (l == null) continue;
+                if (candidates == null) candidates = new ArrayList<>(this.general);
+                candidates.addAll(l);
+            }
+            if (candidates == null) return this.general;
+            candidates.sort((a, b) -> Integer.compare(a.order, b.order));
+            return candidates;
+        }
+    }
+
+    private final List<Procedure> procedures;
+    private int nextOrder;
+    private volatile Index index;
 
     public SusiProcedures() {
-        super();
+        this.procedures = new ArrayList<>();
+        this.nextOrder = 0;
+        this.index = new Index(this.procedures);
+    }
+
+    /**
+     * register a procedure which is tried for every expression
+     * @param pattern the pattern of the expressions
+     * @param lambda the procedure which is applied on a matching expression
+     * @return the replaced procedure or null
+     */
+    public BiFunction<SusiArgument, Matcher, SusiThought> put(Pattern pattern, BiFunction<SusiArgument, Matcher, SusiThought> lambda) {
+        return put(null, pattern, lambda);
+    }
+
+    /**
+     * register a procedure for a service. The pattern must only match expressions which contain "FROM service ".
+     * A procedure with the same pattern as an existing procedure of the service replaces that procedure.
+     * @param service the name of the service or null if the procedure must be tried for every expression
+     * @param pattern the pattern of the expressions
+     * @param lambda the procedure which is applied on a matching expression
+     * @return the replaced procedure or null
+     */
+    public synchronized BiFunction<SusiArgument, Matcher, SusiThought> put(String service, Pattern pattern, BiFunction<SusiArgument, Matcher, SusiThought> lambda) {
+        if (service != null && !SERVICE_NAME.matcher(service).matches()) service = null; // i.e. a name containing regex syntax
+        int order = this.nextOrder++;
+        BiFunction<SusiArgument, Matcher, SusiThought> old = null;
+        for (int i = 0; i < this.procedures.size(); i++) {
+            Procedure procedure = this.procedures.get(i);
+            if (procedure.pattern == pattern || (service != null && service.equals(procedure.service) && pattern.pattern().equals(procedure.pattern.pattern()))) {
+                // the replacement keeps the position of the old procedure
+                this.procedures.remove(i);
+                old = procedure.lambda;
+                order = procedure.order;
+                break;
+            }
+        }
+        this.procedures.add(new Procedure(service, pattern, lambda, order));
+        this.index = new Index(this.procedures);
+        return old;
+    }
+
+    /**
+     * @return the number of registered procedures
+     */
+    public int size() {
+        return this.index.all.size();
+    }
+
+    /**
+     * find the names of services in an expression: the words after a FROM. A procedure for a service can only
+     * match an expression which contains "FROM service ".
+     * @param q the expression
+     * @return the service names in the expression
+     */
+    static Set<String> services(String q) {
+        Set<String> services = new LinkedHashSet<>(2);
+        int p = 0;
+        while ((p = q.indexOf(" FROM ", p)) >= 0) {
+            int b = p + 6;
+            while (b < q.length() && q.charAt(b) == ' ') b++;
+            int e = b;
+            while (e < q.length() && q.charAt(e) != ' ') e++;
+            if (e > b) services.add(q.substring(b, e));
+            p += 5;
+        }
+        return services;
     }
 
     /**
@@ -49,11 +178,12 @@ public class SusiProcedures extends LinkedHashMap<Pattern, BiFunction<SusiArgume
     public SusiThought deduce(SusiArgument flow, String q) {
         if (q == null) return new SusiThought();
         q = q.trim();
-        for (Map.Entry<Pattern, BiFunction<SusiArgument, Matcher, SusiThought>> pe: this.entrySet()) {
-            Pattern p = pe.getKey();
-            Matcher m = p.matcher(q);
-            if (new TimeoutMatcher(m).matches()) try {
-                SusiThought json = pe.getValue().apply(flow, m);
+        for (Procedure procedure: this.index.candidates(q)) {
+            Pattern p = procedure.pattern;
+            TimeoutMatcher tm = new TimeoutMatcher(p, q);
+            Matcher m = tm.matcher();
+            if (tm.matches()) try {
+                SusiThought json = procedure.lambda.apply(flow, m);
                 if (json != null) {
                     json.setProcess(p.pattern());
                     return json;
@@ -0,0 +1,97 @@
+/**
+ *  SusiQueryContext
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import ai.susi.mind.SusiLinguistics.Token;
+
+/**
+ * The query context holds the forms of a query which are needed to find the intents for the query:
+ * the normalized query, the lowercase query, the tokens and the keys for the intent trigger.
+ * Every form is computed once with the first use; a reaction and all mind layers and reflections
+ * with the same query within one request share the same context (see SusiReflectionMemo).
+ */
+public class SusiQueryContext {
+
+    private final SusiLanguage language;
+    private final String normalized;
+    private String lowercase;
+    private List<Token> tokens;
+    private Set<String> keys;
+
+    /**
+     * create a query context
+     * @param query the user input
+     * @param language the language of the user
+     */
+    public SusiQueryContext(String query, SusiLanguage language) {
+        this.language = language;
+        this.normalized = SusiUtterance.normalizeExpression(query);
+        this.lowercase = null;
+        this.tokens = null;
+        this.keys = null;
+    }
+
+    public SusiLanguage getLanguage() {
+        return this.language;
+    }
+
+    /**
+     * @return the query after normalization with SusiUtterance.normalizeExpression
+     */
+    public String getNormalized() {
+        return this.normalized;
+    }
+
+    /**
+     * @return the normalized query in lowercase, the form which is matched against the utterances
+     */
+    public synchronized String getLowercase() {
+        if (this.lowercase == null) this.lowercase = this.normalized.toLowerCase();
+        return this.lowercase;
+    }
+
+    /**
+     * @return the tokens of the normalized query
+     */
+    public synchronized List<Token> getTokens() {
+        if (this.tokens == null) this.tokens = SusiLinguistics.tokenizeSentence(this.language, this.normalized);
+        return this.tokens;
+    }
+
+    /**
+     * @return the categorized and the original form of all tokens, the keys for the intent trigger
+     */
+    public synchronized Set<String> getKeys() {
+        if (this.keys == null) {
+            Set<String> k = new LinkedHashSet<>();
+            getTokens().forEach(token -> {
+                k.add(token.categorized);
+                k.add(token.original);
+            });
+            this.keys = k;
+        }
+        return this.keys;
+    }
+
+}
@@ -0,0 +1,120 @@
+/**
+ *  SusiReconciler
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONObject;
+
+import ai.susi.DAO;
+import ai.susi.tools.OnlineCaution;
+
+/**
+ * The reconciler removes queries from the unanswered list of a memory which can be answered now
+ * because a skill with a matching utterance was learned. Learners only enqueue the utterance patterns;
+ * one background thread drains the queue in batches and matches each batch against the whole unanswered
+ * list in one pass. The thread respects the online caution and is started with the first pattern.
+ */
+public class SusiReconciler extends Thread {
+
+    private final SusiMemory memory;
+    private final LinkedBlockingQueue<SusiPattern> queue;
+    private final int batchSize;
+    private final AtomicLong enqueued, dropped, reconciled, batches, removed, failed, time;
+
+    public SusiReconciler(SusiMemory memory) {
+        super("removeUnanswered");
+        this.setDaemon(true);
+        this.memory = memory;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, (int) DAO.getConfig("susi.unanswered.queue", 100000L)));
+        this.batchSize = Math.max(1, (int) DAO.getConfig("susi.unanswered.batch", 1000L));
+        this.enqueued = new AtomicLong(0);
+        this.dropped = new AtomicLong(0);
+        this.reconciled = new AtomicLong(0);
+        this.batches = new AtomicLong(0);
+        this.removed = new AtomicLong(0);
+        this.failed = new AtomicLong(0);
+        this.time = new AtomicLong(0);
+    }
+
+    /**
+     * enqueue the patterns of learned utterances. Patterns are dropped if the queue is full
+     * or the reconciler thread is not running any more.
+     * @param patterns
+     */
+    public void reconcile(Collection<SusiPattern> patterns) {
+        if (!this.isAlive()) {
+            this.dropped.addAndGet(patterns.size());
+            return;
+        }
+        for (SusiPattern pattern: patterns) {
+            if (this.queue.offer(pattern)) this.enqueued.incrementAndGet(); else this.dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void run() {
+        List<SusiPattern> batch = new ArrayList<>(this.batchSize);
+        try {
+            while (!this.isInterrupted()) {
+                batch.add(this.queue.take());
+                this.queue.drainTo(batch, this.batchSize - 1);
+                OnlineCaution.throttle(500);
+                long t0 = System.currentTimeMillis();
+                try {
+                    int r = this.memory.removeUnanswered(batch);
+                    this.removed.addAndGet(r);
+                    this.reconciled.addAndGet(batch.size());
+                } catch (RuntimeException e) {
+                    // the batch is lost but the reconciler continues with the next one
+                    this.failed.addAndGet(batch.size());
+                    DAO.severe("reconciliation of " + batch.size() + " unanswered patterns failed", e);
+                } finally {
+                    this.time.addAndGet(System.currentTimeMillis() - t0);
+                    this.batches.incrementAndGet();
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            // the reconciler was terminated
+        }
+    }
+
+    /**
+     * @return the progress of the reconciliation
+     */
+    public JSONObject getStatistics() {
+        JSONObject json = new JSONObject(true);
+        json.put("enqueued", this.enqueued.get());
+        json.put("dropped", this.dropped.get());
+        json.put("pending", this.queue.size());
+        json.put("reconciled", this.reconciled.get());
+        json.put("batches", this.batches.get());
+        json.put("removed", this.removed.get());
+        json.put("failed", this.failed.get());
+        json.put("time", this.time.get());
+        return json;
+    }
+
+}
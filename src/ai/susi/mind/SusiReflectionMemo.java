@@ -0,0 +1,245 @@
+/**
+ *  SusiReflectionMemo
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import ai.susi.DAO;
+import ai.susi.server.ClientIdentity;
+import ai.susi.tools.CacheMap;
+
+/**
+ * A reflection memo remembers the results of reflections within one request.
+ * A reflection is a nested reaction on an observation (the text within backticks in an answer)
+ * and the result of such a reaction only depends on the observation, the language, the mindstate
+ * at the time of the reflection and the minds which are used. If the same reflection appears again within the
+ * same request, the result is taken from the memo.
+ * The memo also holds the query contexts of the request, so the tokenization of a query is done only once
+ * even if the query is tried in several mind layers.
+ *
+ * Additionally, a shared cache can be switched on with susi.reflection.cache.ttl (milliseconds, default 0 = off).
+ * That cache holds only results of reflections where the answering intent does not have memory side-effects.
+ */
+public class SusiReflectionMemo {
+
+    private final static AtomicLong memoHits = new AtomicLong(0), memoMisses = new AtomicLong(0);
+    private final static AtomicLong cacheHits = new AtomicLong(0), cacheMisses = new AtomicLong(0);
+    private final static CacheMap<String, Entry> sharedCache = new CacheMap<>(1000);
+
+    private final Map<String, Entry> memo;
+    private final Map<String, SusiQueryContext> contexts;
+
+    /**
+     * The remembered result of a reflection. This is either a mindstate or the message of the reaction exception.
+     */
+    private static class Entry {
+        private final JSONObject mindstate; // a copy of the mindstate which is never changed; each usage gets its own copy
+        private final int times;
+        private final String failure;
+        private final long time;
+
+        private Entry(SusiThought mindstate, String failure) {
+            this.mindstate = mindstate == null ? null : copy(mindstate.toJSON());
+            this.times = mindstate == null ? 0 : mindstate.getTimes();
+            this.failure = failure;
+            this.time = System.currentTimeMillis();
+        }
+
+        private SusiThought getMindstate() {
+            return new SusiThought(copy(this.mindstate)).setTimes(this.times);
+        }
+    }
+
+    /**
+     * a deep copy of a json object; the values are immutable, only the objects and arrays are copied
+     */
+    private static JSONObject copy(JSONObject json) {
+        JSONObject c = new JSONObject(true);
+        for (String key: json.keySet()) c.put(key, copyValue(json.get(key)));
+        return c;
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof JSONObject) return copy((JSONObject) value);
+        if (value instanceof JSONArray) {
+            JSONArray a = (JSONArray) value;
+            JSONArray c = new JSONArray();
+            for (int i = 0; i < a.length(); i++) c.put(copyValue(a.get(i)));
+            return c;
+        }
+        return value;
+    }
+
+    public SusiReflectionMemo() {
+        this.memo = new ConcurrentHashMap<>();
+        this.contexts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * get the context of a query within this request
+     * @param query the user input
+     * @param language the language of the user
+     * @return the query context, the same object for the same query and language
+     */
+    public SusiQueryContext context(String query, SusiLanguage language) {
+        return this.contexts.computeIfAbsent(language.name() + "\n" + query, k -> new SusiQueryContext(query, language));
+    }
+
+    /**
+     * the key of a reflection is the md5 digest of the language, the observation and the data of the mindstate.
+     * The mindstate is written into the digest directly; it is not serialized into a string.
+     */
+    private static String key(String observation, SusiLanguage language, SusiThought mindstate) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        OutputStream sink = new OutputStream() {
+            @Override public void write(int b) {}
+            @Override public void write(byte[] b, int off, int len) {}
+        };
+        try (Writer writer = new OutputStreamWriter(new DigestOutputStream(sink, digest), StandardCharsets.UTF_8)) {
+            writer.write(language.name());
+            writer.write('\n');
+            writer.write(observation);
+            writer.write('\n');
+            mindstate.getData().write(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // the sink does not throw
+        }
+        byte[] b = digest.digest();
+        StringBuilder sb = new StringBuilder(b.length * 2);
+        for (byte x: b) sb.append(Character.forDigit((x >> 4) & 0xf, 16)).append(Character.forDigit(x & 0xf, 16));
+        return sb.toString();
+    }
+
+    /**
+     * the key of a reflection in the shared cache; the minds are identified by their id and their generation,
+     * so results of a mind are not used for another mind or after the mind learned new skills
+     */
+    private static String sharedKey(String key, ClientIdentity identity, SusiMind... minds) {
+        StringBuilder sb = new StringBuilder(key.length() + 100);
+        sb.append(identity.getClient());
+        for (SusiMind mind: minds) sb.append('\n').append(mind.getID()).append(':').append(mind.getGeneration().getGeneration());
+        return sb.append('\n').append(key).toString();
+    }
+
+    private static long ttl() {
+        return DAO.getConfig("susi.reflection.cache.ttl", 0L);
+    }
+
+    /**
+     * compute a reflection reaction or get it from the memo
+     * @param observation the reflection query
+     * @param language the language of the user
+     * @param identity the identity of the user
+     * @param mindstate the mindmeld of the argument where the reflection appears
+     * @param minds the minds which are used for the reaction
+     * @return the reaction
+     * @throws ReactionException if the reaction failed in all minds
+     */
+    public SusiMind.Reaction reflect(
+            final String observation,
+            final SusiLanguage language,
+            final ClientIdentity identity,
+            final SusiThought mindstate,
+            final SusiMind... minds) throws SusiMind.ReactionException {
+        String key = key(observation, language, mindstate);
+
+        // look into the memo of this request
+        Entry entry = this.memo.get(key);
+        if (entry != null) {
+            memoHits.incrementAndGet();
+            return reaction(entry, minds);
+        }
+        memoMisses.incrementAndGet();
+
+        // look into the shared cache
+        long ttl = ttl();
+        String sharedKey = ttl > 0 ? sharedKey(key, identity, minds) : null;
+        if (sharedKey != null) {
+            entry = sharedCache.get(sharedKey);
+            if (entry != null && System.currentTimeMillis() - entry.time < ttl) {
+                cacheHits.incrementAndGet();
+                this.memo.put(key, entry);
+                return reaction(entry, minds);
+            }
+            cacheMisses.incrementAndGet();
+        }
+
+        // compute the reaction
+        SusiMind.Reaction reaction = null;
+        SusiMind.ReactionException ee = null;
+        mindlevels: for (SusiMind mind: minds) {
+            try {
+                reaction = mind.new Reaction(observation, language, identity, false, mindstate, this, minds);
+                break mindlevels;
+            } catch (SusiMind.ReactionException e) {
+                ee = e;
+                continue mindlevels;
+            }
+        }
+        if (reaction == null) {
+            if (ee == null) ee = new SusiMind.ReactionException("could not find an answer");
+            this.memo.put(key, new Entry(null, ee.getMessage()));
+            throw ee;
+        }
+        entry = new Entry(reaction.getMindstate(), null);
+        this.memo.put(key, entry);
+        if (sharedKey != null && reaction.getIntent() != null && !reaction.getIntent().hasMemorySideEffects()) {
+            sharedCache.put(sharedKey, entry);
+        }
+        // the mindstate of the reaction may be changed by the caller, therefore we return a copy
+        return reaction(entry, minds);
+    }
+
+    private static SusiMind.Reaction reaction(Entry entry, SusiMind... minds) throws SusiMind.ReactionException {
+        if (entry.failure != null) throw new SusiMind.ReactionException(entry.failure);
+        return minds[0].new Reaction(entry.getMindstate());
+    }
+
+    /**
+     * @return hit and miss counters of the memo and the shared cache
+     */
+    public static JSONObject getStatistics() {
+        JSONObject json = new JSONObject(true);
+        json.put("memo_hits", memoHits.get());
+        json.put("memo_misses", memoMisses.get());
+        json.put("cache_hits", cacheHits.get());
+        json.put("cache_misses", cacheMisses.get());
+        json.put("cache_size", sharedCache.size());
+        return json;
+    }
+}
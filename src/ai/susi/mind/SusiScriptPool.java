@@ -0,0 +1,288 @@
+/**
+ *  SusiScriptPool
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+import org.json.JSONObject;
+
+import ai.susi.tools.CacheMap;
+
+/**
+ * A pool of javascript engines for the javascript inferences. A script engine and its context must not be used by
+ * two threads at the same time, therefore every evaluation takes an engine from the pool for itself. Each engine
+ * keeps the compiled scripts of the scripts which it evaluated, so a script which appears again is not parsed again.
+ * Every evaluation gets new engine bindings, so the global variables of one script are not visible to the next one.
+ * Each engine has a thread of its own which runs all evaluations on that engine. An evaluation which exceeds the
+ * time budget or whose caller is interrupted is stopped together with the thread of its engine; that engine is not
+ * used again because its state is unknown. The place of the engine in the pool is only released when its thread
+ * has actually ended.
+ */
+public class SusiScriptPool {
+
+    private final static ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private static class Engine implements Runnable {
+        private final ScriptEngine engine;
+        private final CacheMap<String, CompiledScript> scripts;
+        private final LinkedBlockingQueue<FutureTask<String>> jobs;
+        private final Thread thread;
+        private volatile boolean discarded;
+        private Engine(ScriptEngine engine, int cacheSize) {
+            this.engine = engine;
+            this.scripts = new CacheMap<>(cacheSize);
+            this.jobs = new LinkedBlockingQueue<>();
+            this.discarded = false;
+            this.thread = new Thread(this, "SusiScriptPool javascript engine");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+        @Override
+        public void run() {
+            try {
+                // a job catches everything which is thrown by its script, including the ThreadDeath of a stop,
+                // therefore the thread ends here once the engine is discarded
+                while (!this.discarded) this.jobs.take().run();
+            } catch (InterruptedException e) {
+                // the engine was discarded while it was idle
+            }
+        }
+    }
+
+    private final int size, cacheSize;
+    private final long timeout;
+    private final LinkedBlockingQueue<Engine> idle;
+    private final AtomicInteger engines;
+    private final List<Thread> stuck; // threads of scripts which exceeded the time budget and did not end yet
+    private final AtomicLong evaluations, compilations, timeouts, interrupts, waitTime, maxWaitTime, evaluationTime, cpuTime;
+
+    /**
+     * create a script engine pool
+     * @param size the maximum number of engines
+     * @param timeout the time budget of one evaluation in milliseconds
+     * @param cacheSize the number of compiled scripts which each engine keeps
+     */
+    public SusiScriptPool(int size, long timeout, int cacheSize) {
+        this.size = Math.max(1, size);
+        this.timeout = timeout;
+        this.cacheSize = cacheSize;
+        this.idle = new LinkedBlockingQueue<>();
+        this.engines = new AtomicInteger(0);
+        this.stuck = new ArrayList<>();
+        this.evaluations = new AtomicLong(0);
+        this.compilations = new AtomicLong(0);
+        this.timeouts = new AtomicLong(0);
+        this.interrupts = new AtomicLong(0);
+        this.waitTime = new AtomicLong(0);
+        this.maxWaitTime = new AtomicLong(0);
+        this.evaluationTime = new AtomicLong(0);
+        this.cpuTime = new AtomicLong(0);
+    }
+
+    /**
+     * evaluate a script
+     * @param script the javascript
+     * @return the result of the script; if the script has no result the output of the script; if the script has an error the error message
+     * @throws TimeoutException if no engine was available or the script exceeded the time budget
+     * @throws InterruptedException if the caller was interrupted; a running script is stopped
+     * @throws ExecutionException if the evaluation failed for other reasons than an error in the script
+     */
+    public String eval(final String script) throws TimeoutException, InterruptedException, ExecutionException {
+        long t0 = System.currentTimeMillis();
+        Engine engine = acquire();
+        long t1 = System.currentTimeMillis();
+        this.waitTime.addAndGet(t1 - t0);
+        this.maxWaitTime.accumulateAndGet(t1 - t0, Math::max);
+        boolean stopped = false;
+        FutureTask<String> task = new FutureTask<>(() -> {
+            long c0 = threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : 0;
+            try {
+                return run(engine, script);
+            } finally {
+                if (c0 > 0) this.cpuTime.addAndGet((threadMXBean.getCurrentThreadCpuTime() - c0) / 1000000);
+            }
+        });
+        try {
+            engine.jobs.offer(task);
+            try {
+                return task.get(this.timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                stopped = true;
+                this.timeouts.incrementAndGet();
+                discard(engine, task);
+                throw new TimeoutException("javascript evaluation exceeded " + this.timeout + " milliseconds");
+            } catch (InterruptedException e) {
+                // the script may still run on the engine, therefore the engine must not go back to the pool
+                stopped = true;
+                this.interrupts.incrementAndGet();
+                discard(engine, task);
+                throw e;
+            }
+        } finally {
+            this.evaluations.incrementAndGet();
+            this.evaluationTime.addAndGet(System.currentTimeMillis() - t1);
+            if (!stopped) this.idle.offer(engine);
+        }
+    }
+
+    /**
+     * discard an engine whose script must be stopped. The place of the engine is released when its thread
+     * has ended; otherwise the thread is kept until it ends.
+     */
+    private void discard(Engine engine, FutureTask<String> task) {
+        engine.discarded = true;
+        task.cancel(true);
+        stop(engine.thread);
+        if (engine.thread.isAlive()) synchronized (this.stuck) {
+            this.stuck.add(engine.thread);
+        } else {
+            this.engines.decrementAndGet();
+        }
+    }
+
+    /**
+     * release the places of the discarded engines whose threads have ended
+     */
+    private void reap() {
+        synchronized (this.stuck) {
+            if (this.stuck.isEmpty()) return;
+            this.stuck.removeIf(thread -> {
+                if (thread.isAlive()) return false;
+                this.engines.decrementAndGet();
+                return true;
+            });
+        }
+    }
+
+    private String run(Engine engine, String script) {
+        StringWriter stdout = new StringWriter();
+        ScriptContext context = new SimpleScriptContext();
+        context.setBindings(engine.engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+        context.setWriter(new PrintWriter(stdout));
+        context.setErrorWriter(new PrintWriter(stdout));
+        Object o;
+        try {
+            if (engine.engine instanceof Compilable) {
+                CompiledScript compiled = engine.scripts.get(script);
+                if (compiled == null) {
+                    compiled = ((Compilable) engine.engine).compile(script);
+                    engine.scripts.put(script, compiled);
+                    this.compilations.incrementAndGet();
+                }
+                o = compiled.eval(context);
+            } else {
+                o = engine.engine.eval(script, context);
+            }
+        } catch (ScriptException e) {
+            o = e.getMessage();
+        }
+        String result = o == null ? "" : o.toString().trim();
+        if (result.length() == 0) result = stdout.getBuffer().toString().trim();
+        return result;
+    }
+
+    private Engine acquire() throws TimeoutException, InterruptedException {
+        long deadline = System.currentTimeMillis() + this.timeout;
+        while (true) {
+            reap();
+            Engine engine = this.idle.poll();
+            if (engine != null) return engine;
+            if (this.engines.incrementAndGet() <= this.size) {
+                ScriptEngine e = new ScriptEngineManager().getEngineByName("nashorn");
+                if (e != null) return new Engine(e, this.cacheSize);
+                this.engines.decrementAndGet();
+                throw new IllegalStateException("no javascript engine available in this runtime");
+            }
+            this.engines.decrementAndGet();
+            long wait = deadline - System.currentTimeMillis();
+            if (wait <= 0) throw new TimeoutException("no javascript engine available within " + this.timeout + " milliseconds");
+            // wait for an idle engine; a discarded engine may release its place meanwhile
+            engine = this.idle.poll(Math.min(wait, 50), TimeUnit.MILLISECONDS);
+            if (engine != null) return engine;
+        }
+    }
+
+    /**
+     * stop the thread of a discarded engine. Scripts do not react on interrupts, therefore the thread must be
+     * stopped. Thread.stop is the only way to end a
+     * script loop in nashorn; if the runtime does not support it, the thread keeps its place in the pool until
+     * the script ends.
+     */
+    @SuppressWarnings("deprecation")
+    private static void stop(Thread thread) {
+        try {
+            thread.join(100);
+            if (!thread.isAlive()) return;
+            thread.stop();
+            thread.join(100);
+        } catch (InterruptedException e) {
+            // the caller is interrupted again; the thread is reaped when it has ended
+            Thread.currentThread().interrupt();
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // the thread cannot be stopped; it ends with the end of the script
+        }
+    }
+
+    /**
+     * @return the usage of the engines, the wait time for an engine and the evaluation latency
+     */
+    public JSONObject getStatistics() {
+        reap();
+        JSONObject json = new JSONObject(true);
+        long evaluations = this.evaluations.get();
+        json.put("engines", this.engines.get());
+        synchronized (this.stuck) {
+            json.put("stuck", this.stuck.size());
+        }
+        json.put("idle", this.idle.size());
+        json.put("max_engines", this.size);
+        json.put("evaluations", evaluations);
+        json.put("compilations", this.compilations.get());
+        json.put("timeouts", this.timeouts.get());
+        json.put("interrupts", this.interrupts.get());
+        json.put("wait_time", this.waitTime.get());
+        json.put("max_wait_time", this.maxWaitTime.get());
+        json.put("evaluation_time", this.evaluationTime.get());
+        json.put("cpu_time", this.cpuTime.get());
+        json.put("average_evaluation_time", evaluations == 0 ? 0 : this.evaluationTime.get() / evaluations);
+        return json;
+    }
+
+}
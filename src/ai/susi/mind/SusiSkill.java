@@ -706,6 +706,68 @@ public class SusiSkill {
         return json;
     }
 
+    /**
+     * A snapshot contains all properties of the skill and the snapshots of the intents.
+     * It is used to restore the skill without parsing the skill file again.
+     * @return the skill as json
+     */
+    JSONObject toSnapshot() {
+        JSONObject json = new JSONObject(true);
+        json.put("skill_name", this.skillName);
+        json.put("description", this.description);
+        json.put("author", this.author);
+        json.put("author_url", this.authorURL);
+        json.put("author_email", this.authorEmail);
+        json.put("image", this.image);
+        json.put("terms_of_use", this.termsOfUse);
+        json.put("kickoff", this.kickoff);
+        json.put("developer_privacy_policy", this.developerPrivacyPolicy);
+        if (this.on != null) json.put("on", new JSONArray(this.on));
+        json.put("protected", this.protectedSkill);
+        json.put("dynamic_content", this.dynamicContent);
+        if (this.examples != null) json.put("examples", new JSONArray(this.examples));
+        if (this.tags != null) json.put("tags", new JSONArray(this.tags));
+        JSONArray i = new JSONArray();
+        for (SusiIntent si: this.skillIntents) i.put(si.toSnapshot());
+        json.put("intents", i);
+        return json;
+    }
+
+    /**
+     * restore a skill from a snapshot
+     * @param skillid the id of the skill
+     * @param snapshot the result of toSnapshot()
+     * @return the skill
+     * @throws SusiActionException
+     */
+    static SusiSkill fromSnapshot(SusiSkill.ID skillid, JSONObject snapshot) throws SusiActionException {
+        SusiSkill skill = new SusiSkill();
+        skill.id = skillid;
+        skill.skillName = snapshot.optString("skill_name", null);
+        skill.description = snapshot.optString("description", null);
+        skill.author = snapshot.optString("author", null);
+        skill.authorURL = snapshot.optString("author_url", null);
+        skill.authorEmail = snapshot.optString("author_email", null);
+        skill.image = snapshot.optString("image", null);
+        skill.termsOfUse = snapshot.optString("terms_of_use", null);
+        skill.kickoff = snapshot.optString("kickoff", null);
+        skill.developerPrivacyPolicy = snapshot.optString("developer_privacy_policy", null);
+        if (snapshot.has("on")) skill.setOn(snapshot.getJSONArray("on"));
+        skill.protectedSkill = snapshot.has("protected") ? snapshot.getBoolean("protected") : null;
+        skill.dynamicContent = snapshot.has("dynamic_content") ? snapshot.getBoolean("dynamic_content") : null;
+        if (snapshot.has("examples")) {
+            skill.examples = new LinkedHashSet<>();
+            snapshot.getJSONArray("examples").forEach(e -> skill.examples.add((String) e));
+        } else skill.examples = null;
+        if (snapshot.has("tags")) {
+            skill.tags = new LinkedHashSet<>();
+            snapshot.getJSONArray("tags").forEach(t -> skill.tags.add((String) t));
+        } else skill.tags = null;
+        JSONArray intents = snapshot.getJSONArray("intents");
+        for (int i = 0; i < intents.length(); i++) skill.skillIntents.add(SusiIntent.fromSnapshot(skillid, intents.getJSONObject(i)));
+        return skill;
+    }
+
     public static void main(String[] args) {
 
         File conf = FileSystems.getDefault().getPath("conf").toFile();
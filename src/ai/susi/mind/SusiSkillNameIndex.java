@@ -0,0 +1,160 @@
+/**
+ *  SusiSkillNameIndex
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.JSONException;
+
+import ai.susi.mind.SusiAction.SusiActionException;
+
+/**
+ * The skill name index maps the names of skills to the skill files within a language directory.
+ * A skill can be requested with the name of the file (ignoring the case) or with the skill name which is declared
+ * inside the skill, either exactly, ignoring the case or with underscores instead of spaces. To know the declared
+ * names, all skill files of a directory must be parsed; this is done once when a directory is requested the first
+ * time. Afterwards the index is updated with every change of a skill file which is reported with update().
+ * Changes made by other means (i.e. a git pull) are found when the index of a directory is checked again: this is
+ * done when the modification time of the directory changes (a file was added or removed) and at the latest after
+ * the recheck time (a file was modified in place). A check compares the modification time and the length of each
+ * file, and only the new or modified files are parsed again.
+ */
+public class SusiSkillNameIndex {
+
+    private static class Skill {
+        private final long modified, length;
+        private final String name; // the skill name declared in the skill or null if the skill does not declare a name
+        private Skill(File f, String name) {
+            this.modified = f.lastModified();
+            this.length = f.length();
+            this.name = name;
+        }
+    }
+
+    private static class Directory {
+        private final long modified;                // the modification time of the directory at the time of the scan
+        private final long checked;                 // the time of the scan
+        private final Map<String, Skill> skills;    // a map from the file name to the skill
+        private final Map<String, String> files;    // a map from the lowercase file name to the file name
+        private final Map<String, String> names;    // a map from the lowercase skill names to the file name
+        private Directory(long modified, Map<String, Skill> skills) {
+            this.modified = modified;
+            this.checked = System.currentTimeMillis();
+            this.skills = skills;
+            this.files = new HashMap<>();
+            this.names = new HashMap<>();
+            skills.forEach((fn, skill) -> {
+                this.files.putIfAbsent(fn.toLowerCase(), fn);
+                if (skill.name == null) return;
+                this.names.putIfAbsent(skill.name.toLowerCase(), fn);
+                this.names.putIfAbsent(skill.name.replace(' ', '_').toLowerCase(), fn);
+            });
+        }
+    }
+
+    private final Map<File, Directory> directories;
+    private final long recheck;
+
+    /**
+     * create a skill name index
+     * @param recheck the time in milliseconds after which the files of a directory are checked again for changes
+     */
+    public SusiSkillNameIndex(long recheck) {
+        this.directories = new ConcurrentHashMap<>();
+        this.recheck = recheck;
+    }
+
+    /**
+     * find a skill file with a given skill name
+     * @param languagepath the directory of the skill files
+     * @param skill_name the name of the skill file without extension or the declared name of the skill
+     * @return the skill file or null if no such skill exists
+     */
+    public File find(File languagepath, String skill_name) {
+        Directory directory = directory(languagepath);
+        String fn = directory.files.get((skill_name + ".txt").toLowerCase());
+        if (fn == null) fn = directory.names.get(skill_name.toLowerCase());
+        return fn == null ? null : new File(languagepath, fn);
+    }
+
+    /**
+     * update the index after a skill file was created, modified or deleted
+     * @param f the skill file
+     */
+    public void update(File f) {
+        File languagepath = f.getParentFile();
+        if (languagepath == null) return;
+        synchronized (this.directories) {
+            Directory directory = this.directories.get(languagepath);
+            if (directory == null) return; // the directory will be scanned when it is requested the first time
+            Map<String, Skill> skills = new HashMap<>(directory.skills);
+            skills.remove(f.getName());
+            if (f.exists() && isSkillFile(f.getName())) skills.put(f.getName(), new Skill(f, readSkillName(f)));
+            this.directories.put(languagepath, new Directory(languagepath.lastModified(), skills));
+        }
+    }
+
+    private Directory directory(File languagepath) {
+        Directory directory = this.directories.get(languagepath);
+        long modified = languagepath.lastModified();
+        if (isValid(directory, modified)) return directory;
+        synchronized (this.directories) {
+            directory = this.directories.get(languagepath);
+            if (isValid(directory, modified)) return directory;
+            Map<String, Skill> skills = new HashMap<>();
+            String[] list = languagepath.list();
+            if (list != null) for (String fn: list) {
+                if (!isSkillFile(fn)) continue;
+                File f = new File(languagepath, fn);
+                Skill skill = directory == null ? null : directory.skills.get(fn);
+                if (skill == null || skill.modified != f.lastModified() || skill.length != f.length()) skill = new Skill(f, readSkillName(f));
+                skills.put(fn, skill);
+            }
+            directory = new Directory(modified, skills);
+            this.directories.put(languagepath, directory);
+            return directory;
+        }
+    }
+
+    private boolean isValid(Directory directory, long modified) {
+        return directory != null && directory.modified == modified && System.currentTimeMillis() - directory.checked < this.recheck;
+    }
+
+    private static boolean isSkillFile(String fn) {
+        return fn.endsWith(".txt") || fn.endsWith(".ezd");
+    }
+
+    private static String readSkillName(File f) {
+        try (FileReader fileReader = new FileReader(f)) {
+            SusiSkill.ID skillid = new SusiSkill.ID(f);
+            SusiSkill skill = new SusiSkill(new BufferedReader(fileReader), skillid, false);
+            return skill.getSkillName();
+        } catch (IOException | JSONException | SusiActionException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+}
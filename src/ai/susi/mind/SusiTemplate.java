@@ -0,0 +1,173 @@
+/**
+ *  SusiTemplate
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.mind;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.json.JSONObject;
+
+/**
+ * A template is the compiled form of an answer phrase: a sequence of literal segments and variable slots
+ * ($var$ or $key.sub$). The phrase is scanned only once; a unification with a thought row is then a single
+ * pass over the segments into one StringBuilder instead of a search for every key of the row.
+ * A phrase without variables, assignments (a '>') and reflections (a '`') is a literal and needs no processing at all.
+ * The templates of the answer phrases are compiled when an intent is learned and kept in the actions of the intent.
+ */
+public class SusiTemplate {
+
+    private final String text;
+    private final String[] literals; // the literal segments; literals[k] is the text before slots[k], the last literal is the text after the last slot
+    private final String[] slots;    // the names of the variables
+    private final boolean regular;   // true if every '$' is part of a slot
+    private final boolean literal;   // true if there is no '$', '>' or '`' in the phrase
+
+    /**
+     * compile a phrase
+     * @param text the phrase
+     */
+    public SusiTemplate(String text) {
+        this.text = text;
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int start = 0, p;
+        boolean regular = true;
+        while ((p = text.indexOf('$', start)) >= 0) {
+            int q = text.indexOf('$', p + 1);
+            if (q < 0) {
+                regular = false; // an odd number of '$'; the last one is part of the literal
+                break;
+            }
+            literals.add(text.substring(start, p));
+            slots.add(text.substring(p + 1, q));
+            start = q + 1;
+        }
+        literals.add(text.substring(start));
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.slots = slots.toArray(new String[slots.size()]);
+        this.regular = regular;
+        this.literal = text.indexOf('$') < 0 && text.indexOf('>') < 0 && text.indexOf('`') < 0;
+    }
+
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * @return true if the phrase has no variables, assignments or reflections; such a phrase is an answer as it is
+     */
+    public boolean isLiteral() {
+        return this.literal;
+    }
+
+    /**
+     * instantiate the template with a thought row in one pass. A plain variable is replaced at its first
+     * occurrence only, a variable with a sub-key ($key.sub$) at all occurrences; unknown variables are kept.
+     * This is not possible if the result depends on the order of the row keys: if the text between two '$'
+     * (possibly with instantiated variables inside) is itself a variable of the row, if a variable has more than
+     * one interpretation or if a value contains a '$'. In that case null is returned and the caller must unify
+     * the text key by key.
+     * @param row the data row of a thought
+     * @param urlencode true if the values shall be url-encoded
+     * @return the instantiated phrase, possibly incomplete, or null if a one-pass instantiation is not possible
+     */
+    public String instantiate(JSONObject row, boolean urlencode) {
+        if (!this.regular) return null;
+        if (this.slots.length == 0) return this.text;
+
+        // find the values of the slots
+        String[] values = new String[this.slots.length]; // null for the slots which are kept
+        Set<String> used = null;
+        for (int k = 0; k < this.slots.length; k++) {
+            String name = this.slots[k];
+            Object value = row.opt(name);
+            boolean plain = value != null && !(value instanceof JSONObject);
+            Object subvalue = null;
+            for (int p = name.indexOf('.'); p >= 0; p = name.indexOf('.', p + 1)) {
+                Object o = row.opt(name.substring(0, p));
+                if (!(o instanceof JSONObject) || !((JSONObject) o).has(name.substring(p + 1))) continue;
+                if (plain || subvalue != null) return null; // ambiguous
+                subvalue = ((JSONObject) o).get(name.substring(p + 1));
+            }
+            if (plain) {
+                if (used == null) used = new HashSet<>();
+                if (!used.add(name)) continue; // only the first occurrence of a plain variable is instantiated
+            } else {
+                value = subvalue;
+                if (value == null) continue;
+            }
+            String substitution = value.toString();
+            if (urlencode) try {
+                substitution = URLEncoder.encode(substitution, "UTF-8");
+            } catch (UnsupportedEncodingException e) {}
+            if (substitution.indexOf('$') >= 0) return null;
+            values[k] = substitution;
+        }
+
+        // the text between the closing '$' of one slot and the opening '$' of a later slot must not be a variable
+        for (int i = 0; i < this.slots.length - 1; i++) {
+            String between = this.literals[i + 1];
+            for (int j = i + 1; j < this.slots.length; j++) {
+                if (resolve(row, between) != null) return null;
+                if (values[j] == null) break;
+                between = between + values[j] + this.literals[j + 1];
+            }
+        }
+
+        // write the instance
+        StringBuilder sb = new StringBuilder(this.text.length() + 16 * this.slots.length);
+        sb.append(this.literals[0]);
+        for (int k = 0; k < this.slots.length; k++) {
+            if (values[k] == null) sb.append('$').append(this.slots[k]).append('$'); else sb.append(values[k]);
+            sb.append(this.literals[k + 1]);
+        }
+        return sb.toString();
+    }
+
+    private static Object resolve(JSONObject row, String name) {
+        Object value = row.opt(name);
+        if (value != null && !(value instanceof JSONObject)) return value;
+        for (int p = name.indexOf('.'); p >= 0; p = name.indexOf('.', p + 1)) {
+            Object o = row.opt(name.substring(0, p));
+            if (o instanceof JSONObject && ((JSONObject) o).has(name.substring(p + 1))) return o;
+        }
+        return null;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.text.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SusiTemplate && ((SusiTemplate) o).text.equals(this.text);
+    }
+
+    @Override
+    public String toString() {
+        return this.text;
+    }
+
+}
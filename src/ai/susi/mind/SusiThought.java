@@ -499,6 +499,18 @@ public class SusiThought {
      */
     public String[] unify(String statement, int max, boolean allowUninstantiated, boolean urlencode) {
         assert statement != null;
+        return unify(new SusiTemplate(statement), max, allowUninstantiated, urlencode);
+    }
+
+    /**
+     * Unification of a compiled statement
+     * @param template the compiled term to be matched in the thought
+     * @param max the maximum number of unifications
+     * @param allowUninstantiated if true, statements may be incompletely instantiated
+     * @return the instantiated statements, in case allowUninstantiated=true maybe partly uninstantiated
+     */
+    public String[] unify(SusiTemplate template, int max, boolean allowUninstantiated, boolean urlencode) {
+        String statement = template.getText();
         if (statement.indexOf('$') < 0) return new String[]{statement}; // NOT empty!
         String threadOrigName = Thread.currentThread().getName();
         Thread.currentThread().setName("unify: term = " + statement); // makes debugging easier
@@ -509,7 +521,7 @@ public class SusiThought {
             int count = 0;
             if (table != null && table.length() > 0) for (int rownum = 0; rownum < table.length(); rownum++) {
                 JSONObject row = table.getJSONObject(rownum);
-                String u = unifyRow(statement, row, urlencode);
+                String u = unifyRow(template, row, urlencode);
                 // we first record all rows
                 instances.add(u);
                 if (u.indexOf('$') < 0) count++;
@@ -527,7 +539,7 @@ public class SusiThought {
                 String x = null;
                 if (table != null && table.length() > 0) rows: for (int rownum = 0; rownum < table.length(); rownum++) {
                     JSONObject row = table.getJSONObject(rownum);
-                    i = unifyRow(i, row, urlencode);
+                    i = unifyRow(new SusiTemplate(i), row, urlencode);
                     if (i.indexOf('$') < 0) {
                         x = i;
                         break rows;
@@ -545,6 +557,15 @@ public class SusiThought {
         return instances.toArray(new String[instances.size()]);
     }
     
+    /**
+     * unification of a compiled statement with a row in one pass; statements where the result depends on the order
+     * of the keys in the row are unified key by key
+     */
+    private String unifyRow(SusiTemplate template, JSONObject row, boolean urlencode) {
+        String statement = template.instantiate(row, urlencode);
+        return statement == null ? unifyRow(template.getText(), row, urlencode) : statement;
+    }
+
     /**
      * unification of a statement with a row can cause unresolved variables in the statement
      * @param statement
@@ -63,8 +63,6 @@ public class SusiUtterance {
     private final static Pattern IGNOREALL_NONCAPTURE_GROUP_PATTERN = Pattern.compile(Pattern.quote(IGNOREALL_NONCAPTURE_GROUP_STRING));
     
     
-    private final static Pattern dspace = Pattern.compile("  ");
-    private final static Pattern wspace = Pattern.compile(",|;:"); // "#^_*" MUST NOT be a whitespace as they are special characters
     private final static Pattern sbackopen = Pattern.compile("\\[");
     private final static Pattern sbackclose = Pattern.compile("\\]");
     private final static Pattern cgopen = Pattern.compile("\\(\\?");
@@ -108,6 +106,41 @@ public class SusiUtterance {
         init(expression, prior, line);
     }
 
+    /**
+     * restore a phrase from a snapshot
+     * @param snapshot the result of toSnapshot()
+     * @return the phrase with the same compiled pattern
+     * @throws PatternSyntaxException
+     */
+    static SusiUtterance fromSnapshot(JSONObject snapshot) throws PatternSyntaxException {
+        SusiUtterance utterance = new SusiUtterance();
+        utterance.type = Type.valueOf(snapshot.getString("type"));
+        utterance.line = snapshot.getInt("line");
+        utterance.hasCaptureGroup = snapshot.getBoolean("capture");
+        utterance.meatsize = snapshot.getInt("meat");
+        utterance.pattern = new SusiPattern(snapshot.getString("pattern"), snapshot.getBoolean("compiled"));
+        return utterance;
+    }
+
+    private SusiUtterance() {
+    }
+
+    /**
+     * A snapshot contains the computed pattern of the phrase, not the original expression.
+     * This is used to restore the phrase without computing the pattern again.
+     * @return the phrase as json
+     */
+    JSONObject toSnapshot() {
+        JSONObject json = new JSONObject(true);
+        json.put("type", this.type.name());
+        json.put("line", this.line);
+        json.put("capture", this.hasCaptureGroup);
+        json.put("meat", this.meatsize);
+        json.put("pattern", this.pattern.pattern());
+        json.put("compiled", this.pattern.literal() == null);
+        return json;
+    }
+
     private void init(String expression, boolean prior, int line) throws PatternSyntaxException {
         this.type = prior ? Type.prior : Type.minor;
         this.line = line;
@@ -200,16 +233,30 @@ public class SusiUtterance {
      */
     public static String normalizeExpression(String s) {
         s = s.trim().toLowerCase();
-        Matcher m;
-        while ((m = wspace.matcher(s)).find()) s = m.replaceAll(" ");
-        while ((m = dspace.matcher(s)).find()) s = m.replaceAll(" ");
-        if (s.isEmpty()) return s; // prevent StringIndexOutOfBoundsException which can happen in the next line
-        while (!s.isEmpty() && "?!:.".indexOf(s.charAt(s.length() - 1)) >= 0 && (s.length() == 1 || s.charAt(s.length() - 2) != '\\')) {
-            // cut out punctuation marks only at the end if it is not a part of a regular expression
-            s = s.substring(0, s.length() - 1).trim();
+        int n = s.length();
+        if (n == 0) return s;
+
+        // one scan: "," and ";:" are whitespace and sequences of spaces are replaced by one space;
+        // "#^_*" MUST NOT be a whitespace as they are special characters
+        char[] b = new char[n];
+        int l = 0;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c == ',') c = ' ';
+            else if (c == ';' && i + 1 < n && s.charAt(i + 1) == ':') {c = ' '; i++;}
+            if (c == ' ' && l > 0 && b[l - 1] == ' ') continue;
+            b[l++] = c;
+        }
+
+        // cut out punctuation marks only at the end if it is not a part of a regular expression
+        int start = 0;
+        while (l > start && "?!:.".indexOf(b[l - 1]) >= 0 && (l - start == 1 || b[l - 2] != '\\')) {
+            l--;
+            while (l > start && b[l - 1] <= ' ') l--;
+            while (start < l && b[start] <= ' ') start++;
         }
         // to be considered: https://en.wikipedia.org/wiki/Wikipedia:List_of_English_contractionst
-        return s;
+        return new String(b, start, l - start);
     }
 
     public boolean isCatchallPhrase() {
@@ -346,7 +393,7 @@ public class SusiUtterance {
     public JSONObject toJSON() {
         JSONObject json = new JSONObject(true);
         String p = this.pattern.pattern();
-        if (new TimeoutMatcher(CATCHSOME_CAPTURE_GROUP_PATTERN.matcher(p)).find()) {
+        if (new TimeoutMatcher(CATCHSOME_CAPTURE_GROUP_PATTERN, p).find()) {
             p = p.replaceAll(CATCHSOME_CAPTURE_GROUP_PATTERN.pattern(), "*");
         }
         json.put("type", this.type.name());
@@ -102,7 +102,7 @@ public class AddNewDevice extends AbstractAPIHandler implements APIHandler {
 
         String PATTERN = "^([0-9A-Fa-f]{2}[:-]){5}([0-9A-Fa-f]{2})$";
         Pattern pattern = Pattern.compile(PATTERN);
-        if (!new TimeoutMatcher(pattern.matcher(macid)).matches()) {
+        if (!new TimeoutMatcher(pattern, macid).matches()) {
             throw new APIException(400, "Invalid Mac Address.");
         }
 
@@ -98,7 +98,7 @@ public class PasswordChangeService extends AbstractAPIHandler implements APIHand
 
             Pattern pattern = Pattern.compile(passwordPattern);
 
-            if ((authentication.getIdentity().getName()).equals(newpassword) || !new TimeoutMatcher(pattern.matcher(newpassword)).matches()) {
+            if ((authentication.getIdentity().getName()).equals(newpassword) || !new TimeoutMatcher(pattern, newpassword).matches()) {
                 // password can't be equal to email and regex should be matched
                 result.put("message", "Invalid password.");
                 throw new APIException(HttpStatus.UNPROCESSABLE_ENTITY_422, "invalid password");
@@ -67,7 +67,7 @@ public class PasswordResetService extends AbstractAPIHandler implements APIHandl
 
 		Pattern pattern = Pattern.compile(passwordPattern);
 
-		if ((authentication.getIdentity().getName()).equals(newpass) || !new TimeoutMatcher(pattern.matcher(newpass)).matches()) {
+		if ((authentication.getIdentity().getName()).equals(newpass) || !new TimeoutMatcher(pattern, newpass).matches()) {
 			// password can't equal email and regex should match
 			throw new APIException(422, "invalid password");
 		}
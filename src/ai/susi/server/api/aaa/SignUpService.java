@@ -172,7 +172,7 @@ public class SignUpService extends AbstractAPIHandler implements APIHandler {
 
         // check email pattern
         Pattern pattern = Pattern.compile(EmailHandler.EMAIL_PATTERN);
-        if (!new TimeoutMatcher(pattern.matcher(signup)).matches()) {
+        if (!new TimeoutMatcher(pattern, signup).matches()) {
             throw new APIException(422, "No valid email address");
         }
 
@@ -181,7 +181,7 @@ public class SignUpService extends AbstractAPIHandler implements APIHandler {
         String passwordPatternTooltip = DAO.getConfig("users.password.regex.tooltip", "Enter a combination of atleast 8 characters and atleast one special character, one number and one capital letter");
         pattern = Pattern.compile(passwordPattern);
 
-        if (signup.equals(password) || !new TimeoutMatcher(pattern.matcher(password)).matches()) {
+        if (signup.equals(password) || !new TimeoutMatcher(pattern, password).matches()) {
             throw new APIException(422, passwordPatternTooltip);
         }
 
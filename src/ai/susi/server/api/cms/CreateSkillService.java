@@ -137,6 +137,7 @@ public class CreateSkillService extends AbstractAPIHandler implements APIHandler
                                 e.printStackTrace();
                                 json.put("message", "error: " + e.getMessage());
                             }
+                            DAO.skillFileChanged(skill);
 
                             //Add to git
                             if (privateSkill != null){
@@ -110,6 +110,7 @@ public class DeleteSkillService extends AbstractAPIHandler implements APIHandler
             File file = new File(DAO.deleted_skill_dir.getPath()+path);
             file.getParentFile().mkdirs();
             if(skill.renameTo(file)){
+                DAO.skillFileChanged(skill);
                 Boolean changed =  file.setLastModified(System.currentTimeMillis());
                 System.out.print(changed);
                 System.out.println("Skill moved successfully!");
@@ -76,7 +76,7 @@ public class GetSkillsByAuthor extends AbstractAPIHandler implements APIHandler
         else {
             // check email pattern
             Pattern pattern = Pattern.compile(EmailHandler.EMAIL_PATTERN);
-            if (!new TimeoutMatcher(pattern.matcher(author_email)).matches()) {
+            if (!new TimeoutMatcher(pattern, author_email).matches()) {
                 throw new APIException(400, "Invalid email address.");
             }
 
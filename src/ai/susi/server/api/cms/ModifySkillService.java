@@ -168,6 +168,7 @@ public class ModifySkillService extends AbstractAPIHandler implements APIHandler
                         e.printStackTrace();
                         json.put("message", "error: " + e.getMessage());
                     }
+                    DAO.skillFileChanged(skill);
 
                     // Update the modified time in the skillInfo.json file
                     updateModifiedTime(model_name, group_name, language_name, skill_name);
@@ -251,6 +252,7 @@ public class ModifySkillService extends AbstractAPIHandler implements APIHandler
                     // write new file here
                     if (!modified_skill.exists()) {
                         skill.delete();
+                        DAO.skillFileChanged(skill);
                         try (FileWriter newSkillFile = new FileWriter(modified_skill)) {
                             newSkillFile.write(content);
                             json.put("message", "Skill updated");
@@ -259,6 +261,7 @@ public class ModifySkillService extends AbstractAPIHandler implements APIHandler
                             e.printStackTrace();
                             json.put("message", "error: " + e.getMessage());
                         }
+                        DAO.skillFileChanged(modified_skill);
 
                         // Update the modified time in the skillInfo.json file
                         updateModifiedTime(modified_model_name, modified_group_name, modified_language_name, modified_skill_name);
@@ -133,7 +133,7 @@ public class ThreaddumpServlet extends HttpServlet {
                 try {
                     ThreadDump dump = new ThreadDump(ThreadDump.getAllStackTraces(), Thread.State.RUNNABLE);
                     for (final Map.Entry<StackTrace, SortedSet<String>> e: dump.entrySet()) {
-                        if (new TimeoutMatcher(multiDumpFilterPattern.matcher(e.getKey().text)).matches()) continue;
+                        if (new TimeoutMatcher(multiDumpFilterPattern, e.getKey().text).matches()) continue;
                         Integer c = dumps.get(e.getKey().text);
                         if (c == null) dumps.put(e.getKey().text, Integer.valueOf(e.getValue().size()));
                         else {
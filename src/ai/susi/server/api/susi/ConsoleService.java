@@ -33,6 +33,8 @@ import ai.susi.server.Query;
 import ai.susi.server.ServiceResponse;
 import ai.susi.server.UserRole;
 import ai.susi.tools.HttpClient;
+import ai.susi.tools.HttpClient.Response;
+import ai.susi.tools.ResponseCache;
 import ai.susi.json.JsonTray;
 
 import org.json.JSONArray;
@@ -80,7 +82,7 @@ public class ConsoleService extends AbstractAPIHandler implements APIHandler {
     public final static SusiProcedures dbAccess = new SusiProcedures();
 
     public static void addGenericConsole(String serviceName, String serviceURL, String path) {
-        dbAccess.put(Pattern.compile("SELECT +?(.*?) +?FROM +?" + serviceName + " +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
+        dbAccess.put(serviceName, Pattern.compile("SELECT +?(.*?) +?FROM +?" + serviceName + " +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
             SusiThought json = new SusiThought();
             byte[] b = new byte[0];
             String bs = "";
@@ -110,8 +112,33 @@ public class ConsoleService extends AbstractAPIHandler implements APIHandler {
         return loadData(url, request_header);
     }
 
+    private static ResponseCache responseCache = null;
+
+    /**
+     * get the cache for the responses of external APIs; it is created with the first request
+     * @return the response cache
+     */
+    public static synchronized ResponseCache getResponseCache() {
+        if (responseCache == null) responseCache = new ResponseCache(DAO.getConfig("susi.console.cache.weight", 16L * 1024L * 1024L));
+        return responseCache;
+    }
+
+    /**
+     * load a response of an external API with the response cache
+     * @param url the url of the request
+     * @param request_header the request header
+     * @param definition the console definition; the cache times can be declared with "ttl" and "stale" in milliseconds
+     * @return the response
+     * @throws IOException
+     */
+    public static Response loadResponse(String url, Map<String, String> request_header, JSONObject definition) throws IOException {
+        long ttl = definition != null && definition.has("ttl") ? definition.getLong("ttl") : DAO.getConfig("susi.console.cache.ttl", 0L);
+        long stale = definition != null && definition.has("stale") ? definition.getLong("stale") : DAO.getConfig("susi.console.cache.stale", 60000L);
+        return getResponseCache().get(url, request_header, ttl, stale, () -> new Response(url, request_header));
+    }
+
     public static byte[] loadData(String url, Map<String, String> request_header) throws IOException {
-        byte[] b = HttpClient.loadGet(url, request_header);
+        byte[] b = loadResponse(url, request_header, null).getData();
 
         // check if this is jsonp
         //System.out.println("DEBUG CONSOLE:" + new String(b, StandardCharsets.UTF_8));
@@ -149,13 +176,13 @@ public class ConsoleService extends AbstractAPIHandler implements APIHandler {
                     .setOffset(0).setHits(a0.length())
                     .setData(transfer.conclude(a1));
         });
-        dbAccess.put(Pattern.compile("SELECT +?(.*?) +?FROM +?rss +?WHERE +?url ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
+        dbAccess.put("rss", Pattern.compile("SELECT +?(.*?) +?FROM +?rss +?WHERE +?url ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
             SusiThought json = RSSReaderService.readRSS(matcher.group(2));
             SusiTransfer transfer = new SusiTransfer(matcher.group(1));
             json.setData(transfer.conclude(json.getData()));
             return json;
         });
-        dbAccess.put(Pattern.compile("SELECT +?(.*?) +?FROM +?wolframalpha +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
+        dbAccess.put("wolframalpha", Pattern.compile("SELECT +?(.*?) +?FROM +?wolframalpha +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
             SusiThought json = new SusiThought();
             try {
                 String query = matcher.group(2);
@@ -193,7 +220,7 @@ public class ConsoleService extends AbstractAPIHandler implements APIHandler {
             }
             return json;
         });
-        dbAccess.put(Pattern.compile("SELECT +?(.*?) +?FROM +?wikipedia +?WHERE +?query ??= ??'(.*?)' +?AND +?language ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
+        dbAccess.put("wikipedia", Pattern.compile("SELECT +?(.*?) +?FROM +?wikipedia +?WHERE +?query ??= ??'(.*?)' +?AND +?language ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
             SusiThought json = new SusiThought();
             try {
                 String query = matcher.group(2);
@@ -219,7 +246,7 @@ public class ConsoleService extends AbstractAPIHandler implements APIHandler {
             }
             return json;
         });
-        dbAccess.put(Pattern.compile("SELECT +?(.*?) +?FROM +?youtubesearch +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
+        dbAccess.put("youtubesearch", Pattern.compile("SELECT +?(.*?) +?FROM +?youtubesearch +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
             SusiThought json = new SusiThought();
             Pattern[][] testSet = new Pattern[][]{
                 new Pattern[] {
@@ -277,7 +304,7 @@ public class ConsoleService extends AbstractAPIHandler implements APIHandler {
             }
             return json;
         });
-        dbAccess.put(Pattern.compile("SELECT +?(.*?) +?FROM +?soundcloudsearch +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
+        dbAccess.put("soundcloudsearch", Pattern.compile("SELECT +?(.*?) +?FROM +?soundcloudsearch +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> {
             SusiThought json = new SusiThought();
             Pattern videoPattern = Pattern.compile("<li><h2><a href=\"(.*?)\">(.*?)</a></h2></li>");
             try {
@@ -20,9 +20,14 @@
 package ai.susi.server.api.susi;
 
 import ai.susi.Caretaker;
+import ai.susi.DAO;
 import ai.susi.SusiServer;
 import ai.susi.json.JsonObjectWithDefault;
+import ai.susi.mind.SusiInference;
+import ai.susi.mind.SusiMind;
+import ai.susi.mind.SusiReflectionMemo;
 import ai.susi.server.*;
+import ai.susi.tools.HttpClientPool;
 import ai.susi.tools.OS;
 
 import org.json.JSONException;
@@ -86,6 +91,7 @@ public class StatusService extends AbstractAPIHandler implements APIHandler {
         system.put("server_threads", SusiServer.getServerThreads());
         system.put("server_uri", SusiServer.getServerURI());
         SusiServer.hostInfo.forEach((key, value) -> system.put(key, value));
+        system.put("http_pools", HttpClientPool.getPoolStatistics());
 
         JSONObject index = new JSONObject(true);
         JSONObject messages = new JSONObject(true);
@@ -114,8 +120,18 @@ public class StatusService extends AbstractAPIHandler implements APIHandler {
         }
         client_info.put("request_header", request_header);
         
+        JSONObject mind = new JSONObject(true);
+        mind.put("reflection_memo", SusiReflectionMemo.getStatistics());
+        mind.put("answer_cache", SusiMind.getAnswerCacheStatistics());
+        mind.put("skills", DAO.susi.getLoadReport(20));
+        mind.put("unanswered_reconciliation", DAO.susi_memory.getReconciliationStatistics());
+        mind.put("ephemeral_minds", DAO.susi_minds.getStatistics());
+        mind.put("javascript", SusiInference.getJavascriptStatistics());
+        mind.put("console_cache", ConsoleService.getResponseCache().getStatistics());
+
         json.put("system", system);
         json.put("index", index);
+        json.put("mind", mind);
         json.put("client_info", client_info);
 
         return new ServiceResponse(json);
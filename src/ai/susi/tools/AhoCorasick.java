@@ -0,0 +1,163 @@
+/**
+ *  AhoCorasick
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.tools;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A multi-pattern string search automaton (Aho-Corasick).
+ * The automaton is compiled from a set of words; a single scan of a text then tells
+ * which of the words appear anywhere in that text. Every word gets a dense id which is
+ * the position in the order of the words given to the constructor (doubles are removed).
+ */
+public class AhoCorasick {
+
+    private final Map<String, Integer> ids; // the word ids
+    private final char[][] labels;          // the characters of the trie transitions of each state, sorted
+    private final int[][] targets;          // the target states of the trie transitions, parallel to labels
+    private final int[] fail;               // the failure transition for each state
+    private final int[][] output;           // the ids of all words which end in each state
+
+    public AhoCorasick(Collection<String> words) {
+        this.ids = new HashMap<>();
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        List<List<Integer>> out = new ArrayList<>();
+        out.add(new ArrayList<>(0));
+
+        // build the trie
+        for (String word: words) {
+            if (word == null || word.length() == 0 || this.ids.containsKey(word)) continue;
+            int id = this.ids.size();
+            this.ids.put(word, id);
+            int state = 0;
+            for (int i = 0; i < word.length(); i++) {
+                Character c = word.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    out.add(new ArrayList<>(0));
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            out.get(state).add(id);
+        }
+
+        // store the transitions of each state in sorted arrays which are searched without boxing
+        this.labels = new char[trie.size()][];
+        this.targets = new int[trie.size()][];
+        for (int s = 0; s < trie.size(); s++) {
+            TreeMap<Character, Integer> t = trie.get(s);
+            this.labels[s] = new char[t.size()];
+            this.targets[s] = new int[t.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> e: t.entrySet()) {
+                this.labels[s][i] = e.getKey();
+                this.targets[s][i++] = e.getValue();
+            }
+        }
+
+        // compute the failure transitions with a breadth-first traversal; the output of
+        // a state is extended with the output of the state that the failure transition points to
+        this.fail = new int[trie.size()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int s: this.targets[0]) queue.add(s);
+        while (!queue.isEmpty()) {
+            int r = queue.poll();
+            for (int i = 0; i < this.labels[r].length; i++) {
+                char c = this.labels[r][i];
+                int s = this.targets[r][i];
+                queue.add(s);
+                int f = this.fail[r];
+                int t;
+                while ((t = next(f, c)) < 0 && f > 0) f = this.fail[f];
+                this.fail[s] = t < 0 || t == s ? 0 : t;
+                out.get(s).addAll(out.get(this.fail[s]));
+            }
+        }
+        this.output = new int[out.size()][];
+        for (int s = 0; s < this.output.length; s++) {
+            List<Integer> o = out.get(s);
+            this.output[s] = new int[o.size()];
+            for (int i = 0; i < o.size(); i++) this.output[s][i] = o.get(i);
+        }
+    }
+
+    /**
+     * the trie transition of a state
+     * @return the target state or -1 if the state has no transition for the character
+     */
+    private int next(int state, char c) {
+        char[] l = this.labels[state];
+        int i = l.length < 8 ? linearSearch(l, c) : Arrays.binarySearch(l, c);
+        return i < 0 ? -1 : this.targets[state][i];
+    }
+
+    private static int linearSearch(char[] l, char c) {
+        for (int i = 0; i < l.length; i++) if (l[i] == c) return i;
+        return -1;
+    }
+
+    /**
+     * @return the number of distinct words in the automaton
+     */
+    public int size() {
+        return this.ids.size();
+    }
+
+    /**
+     * get the id of a word
+     * @param word
+     * @return the id of the word or -1 if the word is not part of the automaton
+     */
+    public int id(String word) {
+        Integer id = this.ids.get(word);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * scan a text and find all words of the automaton which appear in the text
+     * @param text
+     * @return a bitset where every word id is set for words that appear in the text
+     */
+    public BitSet find(CharSequence text) {
+        BitSet found = new BitSet(this.ids.size());
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = next(state, c)) < 0 && state > 0) state = this.fail[state];
+            state = next < 0 ? 0 : next;
+            for (int id: this.output[state]) found.set(id);
+        }
+        return found;
+    }
+
+}
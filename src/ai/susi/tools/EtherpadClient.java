@@ -112,7 +112,7 @@ public class EtherpadClient {
         Map<String, String> request_header = new HashMap<>();
         request_header.put("Accept","application/json");
         try {
-            JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadGet(padurl, request_header)));
+            JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadGet(padurl, request_header, HttpClientPool.background())));
             JSONObject json = new JSONObject(serviceResponse);
             JSONObject data = json.optJSONObject("data");
             if (data == null) throw new IOException("bad data from pad: null");
@@ -189,7 +189,7 @@ public class EtherpadClient {
         Map<String, String> request_header = new HashMap<>();
         request_header.put("Accept","application/json");
         String createurl = this.etherpadUrlstub + "/api/1/createPad?apikey=" + this.etherpadApikey + "&padID=" + padID;
-        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadGet(createurl, request_header)));
+        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadGet(createurl, request_header, HttpClientPool.background())));
         JSONObject json = new JSONObject(serviceResponse);
         JSONObject data = json.optJSONObject("data");
         String text = data == null ? "" : data.getString("text").trim();
@@ -209,7 +209,7 @@ public class EtherpadClient {
         p.put("apikey", this.etherpadApikey.getBytes(StandardCharsets.UTF_8));
         p.put("padID", padID.getBytes(StandardCharsets.UTF_8));
         p.put("text", text.getBytes(StandardCharsets.UTF_8));
-        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadPost(writeurl, p)));
+        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadPost(writeurl, p, HttpClientPool.background())));
         JSONObject json = new JSONObject(serviceResponse);
         String message = json.optString("message");
         assert "ok".equals(message);
@@ -226,7 +226,7 @@ public class EtherpadClient {
         p.put("apikey", this.etherpadApikey.getBytes(StandardCharsets.UTF_8));
         p.put("authorMapper", authorMapper.getBytes(StandardCharsets.UTF_8));
         p.put("name", name.getBytes(StandardCharsets.UTF_8));
-        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadPost(writeurl, p)));
+        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadPost(writeurl, p, HttpClientPool.background())));
         JSONObject json = new JSONObject(serviceResponse);
         String message = json.optString("message");
         assert "ok".equals(message);
@@ -251,7 +251,7 @@ public class EtherpadClient {
         p.put("padID", padID.getBytes(StandardCharsets.UTF_8));
         p.put("text", text.getBytes(StandardCharsets.UTF_8));
         p.put("authorID", authorID.getBytes(StandardCharsets.UTF_8));
-        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadPost(writeurl, p)));
+        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadPost(writeurl, p, HttpClientPool.background())));
         JSONObject json = new JSONObject(serviceResponse);
         String message = json.optString("message");
         assert "ok".equals(message);
@@ -267,7 +267,7 @@ public class EtherpadClient {
         Map<String, String> request_header = new HashMap<>();
         request_header.put("Accept","application/json");
         String createurl = this.etherpadUrlstub + "/api/1.2.7/getChatHead?apikey=" + this.etherpadApikey + "&padID=" + padID;
-        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadGet(createurl, request_header)));
+        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadGet(createurl, request_header, HttpClientPool.background())));
         JSONObject json = new JSONObject(serviceResponse);
         // in case that
         // - the pad has no chat entry:     json = {"code":0,"message":"ok","data":{"chatHead":-1}}
@@ -292,7 +292,7 @@ public class EtherpadClient {
         request_header.put("Accept","application/json");
         //String createurl = this.etherpadUrlstub + "/api/1.2.7/getChatHistory?apikey=" + this.etherpadApikey + "&padID=" + padID + "&start=" + start + "&end=" + end; // probably bug in etherpad parsing the url: 0 required in front of start, the number is otherwise truncated
         String createurl = this.etherpadUrlstub + "/api/1.2.7/getChatHistory?apikey=" + this.etherpadApikey + "&padID=" + padID;
-        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadGet(createurl, request_header)));
+        JSONTokener serviceResponse = new JSONTokener(new ByteArrayInputStream(HttpClient.loadGet(createurl, request_header, HttpClientPool.background())));
         JSONObject json = new JSONObject(serviceResponse);
         /* i.e. json = 
          * {"code":0,"message":"ok","data":{"messages":[
@@ -50,7 +50,6 @@ import javax.net.ssl.X509TrustManager;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.config.CookieSpecs;
@@ -58,19 +57,12 @@ import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.config.Registry;
-import org.apache.http.config.RegistryBuilder;
-import org.apache.http.conn.routing.HttpRoute;
-import org.apache.http.conn.socket.ConnectionSocketFactory;
-import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.mime.HttpMultipartMode;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -252,43 +244,47 @@ public class HttpClient {
     /**
      * GET request
      * @param urlstring
-     * @param useAuthentication
+     * @param pool the connection pool which is used for the request
      * @throws IOException
      */
-    public HttpClient(String urlstring, boolean useAuthentication) throws IOException {
-        this.httpClient = HttpClients.custom()
-            .useSystemProperties()
-            .setConnectionManager(getConnctionManager(useAuthentication))
-            .setDefaultRequestConfig(defaultRequestConfig)
-            .build();
+    public HttpClient(String urlstring, HttpClientPool pool) throws IOException {
+        this.httpClient = pool.getClient();
         this.request = new HttpGet(urlstring);
         this.request.setHeader("User-Agent", getAgent(yacyInternetCrawlerAgentName).userAgent);
         this.init();
     }
 
     /**
-     * GET request
+     * GET request using the interactive connection pool
+     * @param urlstring
+     * @param useAuthentication has no effect
+     * @throws IOException
+     * @deprecated the authentication flag was never used; use HttpClient(String)
+     */
+    @Deprecated
+    public HttpClient(String urlstring, boolean useAuthentication) throws IOException {
+        this(urlstring);
+    }
+
+    /**
+     * GET request using the interactive connection pool
      * @param urlstring
      * @throws IOException
      */
     public HttpClient(String urlstring) throws IOException {
-        this(urlstring, true);
+        this(urlstring, HttpClientPool.interactive());
     }
 
     /**
      * POST request
      * @param urlstring
      * @param map
-     * @param useAuthentication
+     * @param pool the connection pool which is used for the request
      * @throws ClientProtocolException 
      * @throws IOException
      */
-    public HttpClient(String urlstring, Map<String, byte[]> map, boolean useAuthentication) throws ClientProtocolException, IOException {
-        this.httpClient = HttpClients.custom()
-            .useSystemProperties()
-            .setConnectionManager(getConnctionManager(useAuthentication))
-            .setDefaultRequestConfig(defaultRequestConfig)
-            .build();
+    public HttpClient(String urlstring, Map<String, byte[]> map, HttpClientPool pool) throws ClientProtocolException, IOException {
+        this.httpClient = pool.getClient();
         this.request = new HttpPost(urlstring);        
         MultipartEntityBuilder entityBuilder = MultipartEntityBuilder.create();
         entityBuilder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
@@ -300,23 +296,37 @@ public class HttpClient {
         this.init();
     }
 
+    /**
+     * POST request using the interactive connection pool
+     * @param urlstring
+     * @param map
+     * @param useAuthentication has no effect
+     * @throws ClientProtocolException 
+     * @throws IOException
+     * @deprecated the authentication flag was never used; use HttpClient(String, Map)
+     */
+    @Deprecated
+    public HttpClient(String urlstring, Map<String, byte[]> map, boolean useAuthentication) throws ClientProtocolException, IOException {
+        this(urlstring, map);
+    }
+
     public HttpClient setHeader(String key, String value) {
         this.request.setHeader(key, value);
         return this;
     }
 
     /**
-     * POST request
+     * POST request using the interactive connection pool
      * @param urlstring
      * @param map
      * @throws ClientProtocolException
      * @throws IOException
      */
     public HttpClient(String urlstring, Map<String, byte[]> map) throws ClientProtocolException, IOException {
-        this(urlstring, map, true);
+        this(urlstring, map, HttpClientPool.interactive());
     }
 
-    private static SSLConnectionSocketFactory getSSLSocketFactory() {
+    static SSLConnectionSocketFactory getSSLSocketFactory() {
         final TrustManager trustManager = new X509TrustManager() {
             @Override
             public void checkClientTrusted(final X509Certificate[] chain, final String authType)
@@ -351,33 +361,6 @@ public class HttpClient {
         return sslSF;
     }
 
-    public static PoolingHttpClientConnectionManager getConnctionManager(boolean useAuthentication){
-
-        Registry<ConnectionSocketFactory> socketFactoryRegistry = null;
-        /*
-        SSLConnectionSocketFactory trustSelfSignedSocketFactory = new SSLConnectionSocketFactory(
-                    new SSLContextBuilder().loadTrustMaterial(null, new TrustSelfSignedStrategy()).build(),
-                    new TrustAllHostNameVerifier());
-        */
-        socketFactoryRegistry = RegistryBuilder
-                .<ConnectionSocketFactory> create()
-                .register("http", new PlainConnectionSocketFactory())
-                .register("https", getSSLSocketFactory())
-                .build();
-        
-        PoolingHttpClientConnectionManager cm = socketFactoryRegistry != null ? 
-                new PoolingHttpClientConnectionManager(socketFactoryRegistry):
-                new PoolingHttpClientConnectionManager();
-
-        // twitter specific options
-        cm.setMaxTotal(200);
-        cm.setDefaultMaxPerRoute(20);
-        HttpHost twitter = new HttpHost("twitter.com", 443);
-        cm.setMaxPerRoute(new HttpRoute(twitter), 50);
-
-        return cm;
-    }
-
     private void init() throws IOException {
 
         this.httpResponse = null;
@@ -410,6 +393,7 @@ public class HttpClient {
                     vals.add(header.getValue());
                 }
             } else {
+                EntityUtils.consumeQuietly(httpEntity); // keeps the connection alive for the next request
                 this.request.releaseConnection();
                 throw new IOException("client connection to " + this.request.getURI() + " fail: " + status + ": " + httpResponse.getStatusLine().getReasonPhrase());
             }
@@ -427,19 +411,14 @@ public class HttpClient {
      * get a redirect for an url: this method shall be called if it is expected that a url
      * is redirected to another url. This method then discovers the redirect.
      * @param urlstring
-     * @param useAuthentication
      * @return the redirect url for the given urlstring
      * @throws IOException if the url is not redirected
      */
-    public static String getRedirect(String urlstring, boolean useAuthentication) throws IOException {
+    public static String getRedirect(String urlstring) throws IOException {
         HttpGet get = new HttpGet(urlstring);
-        get.setConfig(RequestConfig.custom().setRedirectsEnabled(false).build());
+        get.setConfig(RequestConfig.copy(defaultRequestConfig).setRedirectsEnabled(false).build());
         get.setHeader("User-Agent", getAgent(yacyInternetCrawlerAgentName).userAgent);
-        CloseableHttpClient httpClient = HttpClients.custom()
-                .setConnectionManager(getConnctionManager(useAuthentication))
-                .setDefaultRequestConfig(defaultRequestConfig)
-                .build();
-        HttpResponse httpResponse = httpClient.execute(get);
+        HttpResponse httpResponse = HttpClientPool.interactive().getClient().execute(get);
         HttpEntity httpEntity = httpResponse.getEntity();
         if (httpEntity != null) {
             if (httpResponse.getStatusLine().getStatusCode() == 301) {
@@ -456,6 +435,7 @@ public class HttpClient {
                 throw new IOException("no redirect for  " + urlstring+ " fail: " + httpResponse.getStatusLine().getStatusCode() + ": " + httpResponse.getStatusLine().getReasonPhrase());
             }
         } else {
+            get.releaseConnection();
             throw new IOException("client connection to " + urlstring + " fail: no connection");
         }
     }
@@ -464,11 +444,14 @@ public class HttpClient {
      * get a redirect for an url: this method shall be called if it is expected that a url
      * is redirected to another url. This method then discovers the redirect.
      * @param urlstring
-     * @return
-     * @throws IOException
+     * @param useAuthentication has no effect
+     * @return the redirect url for the given urlstring
+     * @throws IOException if the url is not redirected
+     * @deprecated the authentication flag was never used; use getRedirect(String)
      */
-    public static String getRedirect(String urlstring) throws IOException {
-        return getRedirect(urlstring, true);
+    @Deprecated
+    public static String getRedirect(String urlstring, boolean useAuthentication) throws IOException {
+        return getRedirect(urlstring);
     }
 
     public void close() {
@@ -481,9 +464,26 @@ public class HttpClient {
         }
     }
 
+    /**
+     * download a file using the background connection pool
+     * @param source_url
+     * @param target_file
+     * @param useAuthentication has no effect
+     * @deprecated the authentication flag was never used; use download(String, File)
+     */
+    @Deprecated
     public static void download(String source_url, File target_file, boolean useAuthentication) {
+        download(source_url, target_file);
+    }
+
+    /**
+     * download a file using the background connection pool
+     * @param source_url
+     * @param target_file
+     */
+    public static void download(String source_url, File target_file) {
         try {
-            HttpClient connection = new HttpClient(source_url, useAuthentication);
+            HttpClient connection = new HttpClient(source_url, HttpClientPool.background());
             try {
                 OutputStream os = new BufferedOutputStream(new FileOutputStream(target_file));
                 int count;
@@ -512,13 +512,17 @@ public class HttpClient {
         private byte[] data;
 
         public Response(String source_url, Map<String, String> request_header) throws IOException {
+            this(source_url, request_header, HttpClientPool.interactive());
+        }
+
+        public Response(String source_url, Map<String, String> request_header, HttpClientPool pool) throws IOException {
             this.request_header = request_header;
             final List<byte[]> content = new ArrayList<>(1);
             final List<IOException> exception = new ArrayList<>(1);
             Thread loadThread = new Thread() {
                 public void run() {
                     try {
-                        final HttpClient connection = new HttpClient(source_url);
+                        final HttpClient connection = new HttpClient(source_url, pool);
                         if (request_header != null) {
                             request_header.forEach((key, value) -> connection.setHeader(key, value));
                         }
@@ -558,7 +562,7 @@ public class HttpClient {
     }
 
     public static void load(String source_url, File target_file) {
-        download(source_url, target_file, true);
+        download(source_url, target_file);
     }
 
     /**
@@ -572,7 +576,11 @@ public class HttpClient {
     }
 
     public static byte[] loadGet(String source_url, Map<String, String> request_header) throws IOException {
-        Response response = new Response(source_url, request_header);
+        return loadGet(source_url, request_header, HttpClientPool.interactive());
+    }
+
+    public static byte[] loadGet(String source_url, Map<String, String> request_header, HttpClientPool pool) throws IOException {
+        Response response = new Response(source_url, request_header, pool);
         return response.getData();
     }
 
@@ -584,7 +592,11 @@ public class HttpClient {
      * @throws IOException
      */
     public static byte[] loadPost(String source_url, Map<String, byte[]> post) throws IOException {
-        HttpClient connection = new HttpClient(source_url, post);
+        return loadPost(source_url, post, HttpClientPool.interactive());
+    }
+
+    public static byte[] loadPost(String source_url, Map<String, byte[]> post, HttpClientPool pool) throws IOException {
+        HttpClient connection = new HttpClient(source_url, post, pool);
         return connection.load();
     }
 
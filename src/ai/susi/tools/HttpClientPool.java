@@ -0,0 +1,227 @@
+/**
+ *  HttpClientPool
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.tools;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.pool.PoolStats;
+import org.json.JSONObject;
+
+import ai.susi.DAO;
+
+/**
+ * A pool of outbound http connections with one long-living client. Connections are kept alive and
+ * re-used for the next request to the same host; the number of connections is limited in total and for
+ * each host, idle connections are closed after some time and the addresses of hosts are cached.
+ * There are two shared pools: the interactive pool for requests which a user is waiting for (i.e. console
+ * skills in a chat) and the background pool for everything else, so that background traffic can never
+ * take the connections which are needed to answer a chat.
+ */
+public class HttpClientPool {
+
+    /**
+     * A dns resolver which keeps resolved addresses for a time-to-live. Failed lookups are not cached.
+     */
+    private static class DnsCache implements DnsResolver {
+
+        private static class Entry {
+            private final InetAddress[] addresses;
+            private final long time;
+            private Entry(InetAddress[] addresses) {
+                this.addresses = addresses;
+                this.time = System.currentTimeMillis();
+            }
+        }
+
+        private final long ttl;
+        private final Map<String, Entry> cache;
+        private final AtomicLong hits, misses;
+
+        private DnsCache(long ttl) {
+            this.ttl = ttl;
+            this.cache = new ConcurrentHashMap<>();
+            this.hits = new AtomicLong(0);
+            this.misses = new AtomicLong(0);
+        }
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            Entry entry = this.cache.get(host);
+            if (entry != null && System.currentTimeMillis() - entry.time < this.ttl) {
+                this.hits.incrementAndGet();
+                return entry.addresses.clone();
+            }
+            this.misses.incrementAndGet();
+            InetAddress[] addresses = SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            if (this.ttl > 0) {
+                if (this.cache.size() >= 10000) this.cache.clear();
+                this.cache.put(host, new Entry(addresses));
+            }
+            return addresses.clone();
+        }
+    }
+
+    private static HttpClientPool interactive = null, background = null;
+
+    private final String name;
+    private final PoolingHttpClientConnectionManager cm;
+    private final CloseableHttpClient client;
+    private final DnsCache dns;
+    private final AtomicLong requests;
+
+    /**
+     * create a connection pool
+     * @param name the name of the pool, used for logging
+     * @param maxTotal the maximum number of connections
+     * @param maxPerRoute the maximum number of connections to one host
+     * @param idleTime the time in milliseconds after which an idle connection is closed
+     * @param dnsTtl the time in milliseconds which a resolved host address is kept; 0 switches the dns cache off
+     */
+    public HttpClientPool(String name, int maxTotal, int maxPerRoute, long idleTime, long dnsTtl) {
+        this.name = name;
+        this.dns = new DnsCache(dnsTtl);
+        this.cm = new PoolingHttpClientConnectionManager(RegistryBuilder
+                .<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", HttpClient.getSSLSocketFactory())
+                .build(), this.dns);
+        this.cm.setMaxTotal(maxTotal);
+        this.cm.setDefaultMaxPerRoute(maxPerRoute);
+        this.requests = new AtomicLong(0);
+        this.client = HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(this.cm)
+                .setDefaultRequestConfig(HttpClient.defaultRequestConfig)
+                .addInterceptorFirst((HttpRequestInterceptor) (request, context) -> this.requests.incrementAndGet())
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTime, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * set the maximum number of connections to one host, different from the limit for all other hosts
+     * @param host the host with scheme and port, i.e. https://twitter.com:443
+     * @param max the maximum number of connections to the host
+     * @return this pool
+     */
+    public HttpClientPool setMaxPerRoute(String host, int max) {
+        HttpHost target = HttpHost.create(host);
+        this.cm.setMaxPerRoute(new HttpRoute(target, null, "https".equals(target.getSchemeName())), max);
+        return this;
+    }
+
+    /**
+     * @return the pool for requests which a user is waiting for
+     */
+    public static synchronized HttpClientPool interactive() {
+        if (interactive == null) interactive = configured("interactive", 200, 20);
+        return interactive;
+    }
+
+    /**
+     * @return the pool for requests which nobody is waiting for
+     */
+    public static synchronized HttpClientPool background() {
+        if (background == null) background = configured("background", 50, 4);
+        return background;
+    }
+
+    private static HttpClientPool configured(String name, long maxTotal, long maxPerRoute) {
+        HttpClientPool pool = new HttpClientPool(name,
+                (int) DAO.getConfig("susi.http." + name + ".total", maxTotal),
+                (int) DAO.getConfig("susi.http." + name + ".route", maxPerRoute),
+                DAO.getConfig("susi.http.idle", 30000L),
+                DAO.getConfig("susi.http.dns.ttl", 60000L));
+        // hosts with their own limit, i.e. twitter which needs more connections than other hosts
+        for (String route: DAO.getConfig("susi.http.routes", new String[]{"https://twitter.com:443=50"}, ",")) {
+            int p = route.lastIndexOf('=');
+            try {
+                pool.setMaxPerRoute(route.substring(0, p).trim(), Integer.parseInt(route.substring(p + 1).trim()));
+            } catch (RuntimeException e) {
+                DAO.severe("bad http route limit " + route + ": " + e.getMessage());
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * @return the client of this pool; it must not be closed
+     */
+    public CloseableHttpClient getClient() {
+        return this.client;
+    }
+
+    /**
+     * close all connections of the pool; the pool cannot be used afterwards
+     */
+    public void close() {
+        try {
+            this.client.close();
+        } catch (IOException e) {
+            DAO.severe("cannot close http pool " + this.name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the live connection counts of the pool and the dns cache counters
+     */
+    public JSONObject getStatistics() {
+        PoolStats stats = this.cm.getTotalStats();
+        JSONObject json = new JSONObject(true);
+        json.put("leased", stats.getLeased());
+        json.put("pending", stats.getPending());
+        json.put("available", stats.getAvailable());
+        json.put("max", stats.getMax());
+        json.put("max_per_route", this.cm.getDefaultMaxPerRoute());
+        json.put("routes", this.cm.getRoutes().size());
+        json.put("requests", this.requests.get());
+        json.put("dns_hits", this.dns.hits.get());
+        json.put("dns_misses", this.dns.misses.get());
+        return json;
+    }
+
+    /**
+     * @return the statistics of the shared pools which are in use
+     */
+    public static synchronized JSONObject getPoolStatistics() {
+        JSONObject json = new JSONObject(true);
+        if (interactive != null) json.put("interactive", interactive.getStatistics());
+        if (background != null) json.put("background", background.getStatistics());
+        return json;
+    }
+
+}
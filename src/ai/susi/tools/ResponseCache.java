@@ -0,0 +1,242 @@
+/**
+ *  ResponseCache
+ *  Copyright 18.10.2026 by agent, agent@local
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program in the file lgpl21.txt
+ *  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ai.susi.tools;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONObject;
+
+import ai.susi.tools.HttpClient.Response;
+
+/**
+ * A cache for the responses of the external APIs which are called by console skills.
+ * Responses are identified by the url and the request header. Each request declares how long a response
+ * is fresh (the ttl) and how long a response may be used after that while a fresh one is loaded in the background
+ * (the stale time). Concurrent requests for the same response cause only one load; the other requests wait
+ * for the result of that load. This also applies with a ttl of zero, where responses are not kept at all.
+ * The cache is limited by the sum of the sizes of all responses; the least recently used responses are removed first.
+ */
+public class ResponseCache {
+
+    /**
+     * A loader loads the response if it is not in the cache
+     */
+    public interface Loader {
+        public Response load() throws IOException;
+    }
+
+    private static class Entry {
+        private final Response response;
+        private final long time, weight;
+        private Entry(Response response) {
+            this.response = response;
+            this.time = System.currentTimeMillis();
+            this.weight = response.getData() == null ? 0 : response.getData().length;
+        }
+    }
+
+    private final long maxWeight;
+    private final LinkedHashMap<String, Entry> responses; // in access order: the least recently used response is first
+    private final ConcurrentHashMap<String, CompletableFuture<Response>> loading;
+    private final Set<String> revalidating; // keys with a queued or running revalidation
+    private final ThreadPoolExecutor revalidator;
+    private long weight;
+    private final AtomicLong hits, staleHits, misses, uncached, collapsed, loads, failures;
+
+    /**
+     * create a response cache
+     * @param maxWeight the maximum sum of the sizes of all responses in bytes
+     */
+    public ResponseCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.responses = new LinkedHashMap<>(16, 0.75f, true);
+        this.loading = new ConcurrentHashMap<>();
+        this.revalidating = ConcurrentHashMap.newKeySet();
+        this.revalidator = new ThreadPoolExecutor(2, 2, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(100), r -> {
+            Thread t = new Thread(r, "ResponseCache revalidation");
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.revalidator.allowCoreThreadTimeOut(true);
+        this.weight = 0;
+        this.hits = new AtomicLong(0);
+        this.staleHits = new AtomicLong(0);
+        this.misses = new AtomicLong(0);
+        this.uncached = new AtomicLong(0);
+        this.collapsed = new AtomicLong(0);
+        this.loads = new AtomicLong(0);
+        this.failures = new AtomicLong(0);
+    }
+
+    /**
+     * the key of a response
+     * @param url the url of the request
+     * @param request_header the request header, may be null
+     * @return the key
+     */
+    public static String key(String url, Map<String, String> request_header) {
+        if (request_header == null || request_header.isEmpty()) return url;
+        StringBuilder sb = new StringBuilder(url);
+        new TreeMap<>(request_header).forEach((key, value) -> sb.append('\n').append(key).append(": ").append(value));
+        return sb.toString();
+    }
+
+    /**
+     * get a response from the cache or load it
+     * @param url the url of the request
+     * @param request_header the request header, may be null
+     * @param ttl the time in milliseconds in which a response is fresh; 0 if responses shall not be kept
+     * @param stale the time in milliseconds after the ttl in which a response is used while a fresh one is loaded
+     * @param loader the loader for the response
+     * @return the response
+     * @throws IOException if the response cannot be loaded
+     */
+    public Response get(String url, Map<String, String> request_header, long ttl, long stale, Loader loader) throws IOException {
+        String key = key(url, request_header);
+        if (ttl > 0) {
+            Entry entry;
+            synchronized (this.responses) {
+                entry = this.responses.get(key);
+            }
+            if (entry != null) {
+                long age = System.currentTimeMillis() - entry.time;
+                if (age < ttl) {
+                    this.hits.incrementAndGet();
+                    return entry.response;
+                }
+                if (age < ttl + stale) {
+                    this.staleHits.incrementAndGet();
+                    revalidate(key, ttl, loader);
+                    return entry.response;
+                }
+            }
+        }
+        (ttl > 0 ? this.misses : this.uncached).incrementAndGet();
+        return load(key, ttl, loader);
+    }
+
+    /**
+     * load a fresh response in the background; at most one revalidation per key is queued at any time
+     */
+    private void revalidate(String key, long ttl, Loader loader) {
+        if (this.loading.containsKey(key) || !this.revalidating.add(key)) return;
+        try {
+            this.revalidator.execute(() -> {
+                try {
+                    Entry entry;
+                    synchronized (this.responses) {
+                        entry = this.responses.get(key);
+                    }
+                    if (entry != null && System.currentTimeMillis() - entry.time < ttl) return; // refreshed meanwhile
+                    load(key, ttl, loader);
+                } catch (IOException | RuntimeException e) {
+                    // the stale response is used until it expires
+                } finally {
+                    this.revalidating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.revalidating.remove(key);
+        }
+    }
+
+    /**
+     * load a response; if the same response is already loaded by another thread, wait for that result
+     */
+    private Response load(String key, long ttl, Loader loader) throws IOException {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        CompletableFuture<Response> running = this.loading.putIfAbsent(key, future);
+        if (running != null) {
+            this.collapsed.incrementAndGet();
+            try {
+                return running.get();
+            } catch (InterruptedException e) {
+                throw new IOException(e.getMessage());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+            }
+        }
+        try {
+            this.loads.incrementAndGet();
+            Response response = loader.load();
+            if (ttl > 0) put(key, response);
+            future.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            this.failures.incrementAndGet();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loading.remove(key, future);
+        }
+    }
+
+    private void put(String key, Response response) {
+        Entry entry = new Entry(response);
+        if (entry.weight > this.maxWeight) return;
+        synchronized (this.responses) {
+            Entry old = this.responses.put(key, entry);
+            if (old != null) this.weight -= old.weight;
+            this.weight += entry.weight;
+            Iterator<Entry> i = this.responses.values().iterator();
+            while (this.weight > this.maxWeight && i.hasNext()) {
+                this.weight -= i.next().weight;
+                i.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the size, weight and hit counters of the cache
+     */
+    public JSONObject getStatistics() {
+        JSONObject json = new JSONObject(true);
+        synchronized (this.responses) {
+            json.put("size", this.responses.size());
+            json.put("weight", this.weight);
+        }
+        long hits = this.hits.get(), staleHits = this.staleHits.get(), misses = this.misses.get();
+        json.put("max_weight", this.maxWeight);
+        json.put("hits", hits);
+        json.put("stale_hits", staleHits);
+        json.put("misses", misses);
+        json.put("uncached", this.uncached.get());
+        json.put("hit_rate", hits + staleHits + misses == 0 ? 0.0d : ((double) (hits + staleHits)) / (hits + staleHits + misses));
+        json.put("collapsed", this.collapsed.get());
+        json.put("loads", this.loads.get());
+        json.put("failures", this.failures.get());
+        json.put("loading", this.loading.size());
+        return json;
+    }
+
+}
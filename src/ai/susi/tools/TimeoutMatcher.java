@@ -19,21 +19,8 @@
 
 package ai.susi.tools;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
-
-import ai.susi.DAO;
+import java.util.regex.Pattern;
 
 /**
  * A timeout matcher is a workaround to non-terminating matcher methods.
@@ -42,75 +29,116 @@ import ai.susi.DAO;
  * Since the bugfix is only available in Java 9, we need a permanent patch
  * arount that. All matcher calls must use this method to ensure termination
  * of matchers.
+ *
+ * The matcher runs in the calling thread. The input is wrapped into a CharSequence
+ * which counts all character accesses of the regular expression engine and checks
+ * a deadline after a number of steps. If the deadline is reached, the match is aborted
+ * and the result is false, like for a match that does not terminate.
  */
 public class TimeoutMatcher {
 
-    private final static ExecutorService EXECUTOR = new ThreadPoolExecutor(
-            0, 1000, 10L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
-    private final static Map<Long, Thread> computing = new ConcurrentHashMap<>();
-    
+    private final static long TIMEOUT_NANOS = 1000000000L; // one second
+    private final static int CHECK_STEPS = 1024; // number of character accesses until the deadline is checked
+
     private final Matcher matcher;
-    
-    public TimeoutMatcher(Matcher matcher) {
-        this.matcher = matcher;
+    private final BudgetCharSequence input;
+
+    public TimeoutMatcher(Pattern pattern, CharSequence s) {
+        this.input = new BudgetCharSequence(s);
+        this.matcher = pattern.matcher(this.input);
+    }
+
+    /**
+     * get the matcher to read the groups of a successful match
+     * @return the matcher which was used for matching
+     */
+    public Matcher matcher() {
+        return this.matcher;
     }
 
     public boolean matches() {
-        Future<Boolean> future = EXECUTOR.submit(new Callable<Boolean>(){
-            @Override
-            public Boolean call() throws Exception {
-                Thread t = Thread.currentThread();
-                t.setName("TimeoutMatcher: '" + TimeoutMatcher.this.matcher.pattern() + "'");
-                computing.put(t.getId(), t);
-                boolean matches = false;
-                try {
-                    matches = TimeoutMatcher.this.matcher.matches();
-                } catch (Throwable e) {} finally {
-                    computing.remove(t.getId());
-                }
-                return matches;
-            }
-        });
+        this.input.arm();
         try {
-            return future.get(1, TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            future.cancel(true);
+            return this.matcher.matches();
+        } catch (RuntimeException | StackOverflowError e) {
+            // a timeout or any other failure of the matcher is treated like a match that does not terminate
             return false;
+        } finally {
+            this.input.disarm();
         }
     }
-    
+
     public boolean find() {
-        Future<Boolean> future = EXECUTOR.submit(new Callable<Boolean>(){
-            @Override
-            public Boolean call() throws Exception {
-                Thread t = Thread.currentThread();
-                t.setName("TimeoutMatcher: '" + TimeoutMatcher.this.matcher.pattern() + "'");
-                computing.put(t.getId(), t);
-                boolean find = false;
-                try {
-                    find = TimeoutMatcher.this.matcher.find();
-                } catch (Throwable e) {} finally {
-                    computing.remove(t.getId());
-                }
-                return find;
-            }
-        });
+        this.input.arm();
         try {
-            return future.get(1, TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            return this.matcher.find();
+        } catch (RuntimeException | StackOverflowError e) {
+            // a timeout or any other failure of the matcher is treated like a match that does not terminate
             return false;
+        } finally {
+            this.input.disarm();
+        }
+    }
+
+    /**
+     * A signal that the time budget of a match is used up. There is only one instance without a stack trace.
+     */
+    private final static class Timeout extends RuntimeException {
+        private static final long serialVersionUID = -5129452389710253735L;
+        private Timeout() {
+            super(null, null, false, false);
         }
     }
-    
-    public static void terminateAll() {
-        List<Long> deleteIds = new ArrayList<>();
-        computing.values().forEach(job -> {
-            if (job.isAlive()) try {
-                job.interrupt();
-                DAO.log("interrupting TimeoutMatcher: '" + job.getName() + "'");
-            } catch (Throwable e) {}
-            else deleteIds.add(job.getId());
-        });
-        deleteIds.forEach(id -> computing.remove(id));
+    private final static Timeout TIMEOUT = new Timeout();
+
+    /**
+     * A CharSequence which checks the deadline when it is armed. Sub-sequences are not wrapped
+     * because these are only requested by the matcher for groups after the match.
+     */
+    private final static class BudgetCharSequence implements CharSequence {
+
+        private final CharSequence s;
+        private long deadline;
+        private int steps;
+        private boolean armed;
+
+        private BudgetCharSequence(CharSequence s) {
+            this.s = s;
+            this.armed = false;
+        }
+
+        private void arm() {
+            this.deadline = System.nanoTime() + TIMEOUT_NANOS;
+            this.steps = 0;
+            this.armed = true;
+        }
+
+        private void disarm() {
+            this.armed = false;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (this.armed && ++this.steps >= CHECK_STEPS) {
+                this.steps = 0;
+                if (System.nanoTime() - this.deadline > 0) throw TIMEOUT;
+            }
+            return this.s.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return this.s.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return this.s.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return this.s.toString();
+        }
     }
 }
@@ -0,0 +1,42 @@
+package ai.susi.json;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.json.JSONArray;
+import org.junit.Test;
+
+public class JsonPathTest {
+
+    private static JSONArray parse(String json, String path, int limit) {
+        return JsonPath.parse(json.getBytes(StandardCharsets.UTF_8), path, limit);
+    }
+
+    @Test
+    public void testPath() {
+        String json = "{\"query\":{\"count\":2,\"results\":{\"row\":[{\"symbol\":\"A\",\"price\":1.50},{\"symbol\":\"B\",\"price\":2}]}},\"skipped\":[1,{\"x\":null}]}";
+        assertEquals("[{\"symbol\":\"A\",\"price\":1.5},{\"symbol\":\"B\",\"price\":2}]", parse(json, "$.query.results.row", 0).toString());
+        assertEquals("[{\"symbol\":\"B\",\"price\":2,\"k0\":\"symbol\",\"v0\":\"B\",\"k1\":\"price\",\"v1\":2,\"mapsize\":2}]", parse(json, "$.query.results.row[1]", 0).toString());
+        assertEquals("[{\"!\":\"2\"}]", parse(json, "$.query.count", 0).toString());
+        assertEquals("[{\"!\":\"not json\"}]", parse("not json", "$", 0).toString());
+
+        // the relaxed syntax of the JSONTokener is still accepted
+        assertEquals("[{\"!\":\"21\"}]", parse("{\"d0\":0;\"a0\":21}", "$.a0", 0).toString());
+    }
+
+    @Test
+    public void testEarlyTermination() {
+        // the parser stops at the end of the selected value and ignores the (here: broken) rest of the document
+        assertEquals("[{\"!\":\"x\"}]", parse("{\"a\":[\"x\"],\"b\":[1,2", "$.a", 0).toString());
+
+        // the parser stops when the array has the maximum number of rows
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) sb.append("{\"n\":").append(i).append("},");
+        assertEquals("[{\"n\":0},{\"n\":1},{\"n\":2}]", parse(sb.toString(), "$", 3).toString());
+
+        // the limit is also applied if the document is parsed completely
+        assertEquals("[{\"n\":0},{\"n\":1}]", parse("[{'n':0},{'n':1},{'n':2},]", "$", 2).toString());
+    }
+
+}
@@ -0,0 +1,54 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import ai.susi.mind.SusiAction.SusiActionException;
+
+public class SusiActionTest {
+
+    @Test
+    public void testInstance() throws SusiActionException {
+        SusiAction template = new SusiAction(SusiAction.answerAction(1, SusiLanguage.en, "hello $1$", "hi $1$"));
+        String declaration = template.toJSONClone().toString();
+
+        // instances share the compiled phrases of the template until they set an expression
+        assertSame(template.getTemplates(), template.instance().getTemplates());
+
+        // an instance keeps its changes and does not change the template
+        SusiAction instance = template.instance();
+        instance.setStringAttr("expression", "hello world");
+        assertEquals("hello world", instance.getPhrases().get(0));
+        assertEquals("hello world", instance.getTemplates().get(0).getText());
+        assertFalse(instance.hasAttr("phrases"));
+        assertEquals("{\"type\":\"answer\",\"language\":\"en\",\"line\":1,\"expression\":\"hello world\"}", instance.toJSONClone().toString());
+        assertEquals(declaration, template.toJSONClone().toString());
+        assertEquals(2, template.getPhrases().size());
+        assertFalse(template.hasAttr("expression"));
+
+        // a clone of an instance has its own changes
+        SusiAction clone = instance.clone();
+        clone.setStringAttr("expression", "hi world");
+        assertEquals("hello world", instance.getStringAttr("expression"));
+        assertEquals("hi world", clone.getStringAttr("expression"));
+
+        // an instance of an action with an expression has no phrases
+        JSONObject json = SusiAction.answerAction(1, SusiLanguage.en, "a").put("expression", "b");
+        SusiAction expression = new SusiAction(json).instance();
+        assertFalse(expression.hasAttr("phrases"));
+        assertEquals("b", expression.getPhrases().get(0));
+        assertTrue(json.has("phrases")); // the declaration is not changed
+
+        // an action which is made from json writes into the json; a clone of it is a copy
+        SusiAction action = new SusiAction(json);
+        SusiAction copy = action.clone();
+        action.setLongAttr("plan_delay", 10);
+        assertEquals(10, json.getLong("plan_delay"));
+        assertFalse(copy.hasAttr("plan_delay"));
+        copy.setLongAttr("plan_delay", 20);
+        assertEquals(10, action.getLongAttr("plan_delay"));
+    }
+
+}
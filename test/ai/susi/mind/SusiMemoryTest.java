@@ -0,0 +1,74 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import ai.susi.mind.SusiMemory.TokenMapList;
+
+public class SusiMemoryTest {
+
+    private static SusiCognition failed(String query) {
+        JSONObject action = new JSONObject().put("type", "answer").put("expression", "I don't know.");
+        JSONObject answer = new JSONObject().put("actions", new JSONArray().put(action));
+        return new SusiCognition(new JSONObject().put("query", query).put("answers", new JSONArray().put(answer)));
+    }
+
+    @Test
+    public void testUnansweredIndex() throws Exception {
+        File root = Files.createTempDirectory("susi").toFile();
+        try {
+            SusiMemory memory = new SusiMemory(new File(root, "chatlog"), new File(root, "skilllog"), 10);
+            memory.addCognition("test", failed("where is the moon"), false);
+            memory.addCognition("test", failed("where is the moon"), false);
+            memory.addCognition("test", failed("where is paris"), false);
+
+            List<TokenMapList> stats = memory.unanswered2tokenizedstats();
+            assertEquals("where", stats.get(0).getToken());
+            assertEquals(3, stats.get(0).getCounter());
+            assertEquals(2, stats.get(0).getMap().size());
+
+            // removed queries disappear from the index
+            assertEquals(1, memory.removeUnanswered(Arrays.asList(new SusiPattern("where is (.*)moon", true))));
+            stats = memory.unanswered2tokenizedstats();
+            assertEquals(1, stats.get(0).getCounter());
+            for (TokenMapList tml: stats) assertFalse(tml.getToken().equals("moon"));
+        } finally {
+            FileUtils.deleteDirectory(root);
+        }
+    }
+
+    @Test
+    public void testRecall() throws Exception {
+        File root = Files.createTempDirectory("susi").toFile();
+        try {
+            SusiIdentity identity = new SusiIdentity(new File(root, "test"), 2);
+            identity.add(failed("one"));
+            assertEquals(1, identity.getRecall().size());
+            assertEquals("one", identity.getRecallMindmeld().getObservation("query"));
+
+            // the recall follows new cognitions and forgets those which fall out of attention
+            identity.add(failed("two"));
+            identity.add(failed("three"));
+            List<SusiThought> recall = identity.getRecall();
+            assertEquals(2, recall.size());
+            assertEquals("three", recall.get(0).getObservation("query"));
+            assertEquals("two", recall.get(1).getObservation("query"));
+            assertEquals("three", identity.getRecallMindmeld().getObservation("query"));
+
+            // the incrementally updated recall is the same as a fresh one
+            assertEquals(recall.toString(), new SusiIdentity(new File(root, "test"), 2).getRecall().toString());
+        } finally {
+            FileUtils.deleteDirectory(root);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.Test;
+
+public class SusiMindCacheTest {
+
+    @Test
+    public void testCache() throws Exception {
+        SusiMindCache cache = new SusiMindCache(100);
+        SusiMind a = cache.get("a", 60, () -> new SusiMind(null));
+        assertSame(a, cache.get("a", 60, () -> new SusiMind(null)));
+
+        // the least recently used mind is removed if the weight is exceeded
+        SusiMind b = cache.get("b", 60, () -> new SusiMind(null));
+        assertNotSame(a, cache.get("a", 60, () -> new SusiMind(null)));
+        assertNotSame(b, cache.get("b", 60, () -> new SusiMind(null)));
+        assertEquals(1, cache.getStatistics().getInt("size"));
+
+        // minds of a skill file are removed if the file is changed
+        File f = File.createTempFile("skill", ".txt");
+        try {
+            SusiMind c = cache.get(SusiMindCache.fileKey("skill", f), 10, () -> new SusiMind(null));
+            assertSame(c, cache.get(SusiMindCache.fileKey("skill", f), 10, () -> new SusiMind(null)));
+            cache.invalidate(f);
+            assertNotSame(c, cache.get(SusiMindCache.fileKey("skill", f), 10, () -> new SusiMind(null)));
+        } finally {
+            f.delete();
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import ai.susi.server.ClientIdentity;
+
+public class SusiMindTest {
+
+    private static String answer(SusiMind mind, String query) {
+        SusiThought thought = mind.react(query, SusiLanguage.en, ClientIdentity.ANONYMOUS, false, null, mind);
+        if (thought == null) return null;
+        return thought.getActions(false).get(0).getStringAttr("expression");
+    }
+
+    private static String awaitAnswer(SusiMind mind, String query, String expected) throws InterruptedException {
+        String a = answer(mind, query);
+        for (int i = 0; i < 100 && (expected == null ? a != null : !expected.equals(a)); i++) {
+            Thread.sleep(100);
+            a = answer(mind, query);
+        }
+        return a;
+    }
+
+    private static void write(File f, String skill) throws IOException {
+        Files.write(f.toPath(), skill.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWatchSkills() throws Exception {
+        File root = Files.createTempDirectory("susi").toFile();
+        File dir = new File(root, "susi_skill_data/models/general/Test/en");
+        assertTrue(dir.mkdirs());
+        File skill = new File(dir, "watch.txt");
+        write(skill, "watch test\nfirst\n");
+
+        SusiMind mind = new SusiMind(null);
+        mind.addLayer(new SusiMind.Layer("Test", new File(root, "susi_skill_data/models/general"), false));
+        try {
+            mind.observe();
+            for (int i = 0; i < 100 && !mind.isReady(); i++) Thread.sleep(100);
+            assertTrue(mind.isReady());
+            assertEquals(1, mind.getLoadReport(10).getInt("files"));
+            assertEquals("first", answer(mind, "watch test"));
+
+            // a modification replaces the intents of the skill
+            Thread.sleep(10); // a later modification time than the latest observation
+            write(skill, "watch test\nsecond\n");
+            assertEquals("second", awaitAnswer(mind, "watch test", "second"));
+            assertEquals(1, mind.getIntentIndex().size());
+
+            // a deletion removes the intents of the skill
+            assertTrue(skill.delete());
+            assertNull(awaitAnswer(mind, "watch test", null));
+            assertEquals(0, mind.getIntentIndex().size());
+        } finally {
+            mind.close();
+            skill.delete();
+            for (File d = dir; !d.equals(root.getParentFile()); d = d.getParentFile()) d.delete();
+        }
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        File root = Files.createTempDirectory("susi").toFile();
+        File dir = new File(root, "susi_skill_data/models/general/Test/en");
+        assertTrue(dir.mkdirs());
+        File skill = new File(dir, "snapshot.txt");
+        write(skill, "snapshot * test\nsnapshot $1$\n");
+        File snapshot = new File(root, "snapshot.json.gz");
+
+        try {
+            // the first mind parses the skill and writes the snapshot
+            SusiMind mind = new SusiMind(null);
+            mind.setSnapshot(snapshot);
+            mind.addLayer(new SusiMind.Layer("Test", new File(root, "susi_skill_data/models/general"), false));
+            mind.observe();
+            for (int i = 0; i < 100 && !mind.isReady(); i++) Thread.sleep(100);
+            mind.close();
+            assertTrue(snapshot.exists());
+
+            // the entry of the unchanged skill file is valid
+            SusiMindSnapshot restored = new SusiMindSnapshot(snapshot);
+            restored.load();
+            assertNotNull(restored.get(skill, false));
+
+            // an edit with the same length and modification time is recognized by the checksum
+            long modified = skill.lastModified();
+            write(skill, "snapshot * test\nsnapsh0t $1$\n");
+            assertTrue(skill.setLastModified(modified));
+            restored = new SusiMindSnapshot(snapshot);
+            restored.load();
+            assertNull(restored.get(skill, false));
+            mind = new SusiMind(null);
+            mind.setSnapshot(snapshot);
+            mind.addLayer(new SusiMind.Layer("Test", new File(root, "susi_skill_data/models/general"), false));
+            mind.observe();
+            for (int i = 0; i < 100 && !mind.isReady(); i++) Thread.sleep(100);
+            assertEquals("snapsh0t restored", answer(mind, "snapshot restored test"));
+            mind.close();
+        } finally {
+            skill.delete();
+            snapshot.delete();
+            for (File d = dir; !d.equals(root.getParentFile()); d = d.getParentFile()) d.delete();
+        }
+    }
+
+    @Test
+    public void testGenerations() throws Exception {
+        SusiMind mind = new SusiMind(null);
+        SusiSkill.ID id = new SusiSkill.ID(new File("/susi_skill_data/models/general/Test/en/generation.txt"));
+        mind.learn(new SusiSkill(new BufferedReader(new StringReader("generation test\nfirst\n")), id, false), id, false);
+        SusiMindGeneration first = mind.getGeneration();
+        assertEquals("first", answer(mind, "generation test"));
+
+        // learning publishes a new generation; the previous generation is unchanged
+        mind.learn(new SusiSkill(new BufferedReader(new StringReader("generation test\nsecond\n")), id, false), id, false);
+        assertEquals("second", answer(mind, "generation test"));
+        assertTrue(mind.getGeneration().getGeneration() > first.getGeneration());
+        assertEquals(1, first.getIntentIndex().size());
+        assertEquals("first", first.getIntentTrigger().values().iterator().next().iterator().next().getActionsClone().get(0).getPhrases().get(0));
+        assertEquals(1, mind.getIntentIndex().size());
+
+        mind.unlearn(id);
+        assertNull(answer(mind, "generation test"));
+        assertEquals(1, first.getSkillMetadata().size());
+        assertEquals(0, mind.getSkillMetadata().size());
+    }
+
+}
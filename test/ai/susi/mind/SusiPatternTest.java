@@ -0,0 +1,67 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import ai.susi.tools.AhoCorasick;
+
+public class SusiPatternTest {
+
+    private static void assertPrefilter(String utterance, String query) {
+        SusiPattern p = new SusiUtterance(utterance, false, 0).getPattern();
+        boolean matches = p.matcher(query).matches();
+        SusiPattern.Anchors a = p.anchors();
+        if (a != null && matches) assertTrue(utterance + " / " + query, a.mayMatch(query));
+    }
+
+    @Test
+    public void testAnchors() {
+        SusiPattern.Anchors a = new SusiUtterance("what is *", false, 0).getPattern().anchors();
+        assertNotNull(a);
+        assertTrue(a.prefix);
+        assertFalse(a.suffix);
+        assertTrue(a.mayMatch("what is love"));
+        assertFalse(a.mayMatch("who is love"));
+
+        a = new SusiUtterance("* is a * with *", false, 0).getPattern().anchors();
+        assertNotNull(a);
+        assertFalse(a.prefix);
+        assertTrue(a.mayMatch("a cat is a fish with wings"));
+        assertFalse(a.mayMatch("a cat with wings is a fish"));
+
+        // the catchall has no anchors, it matches everything
+        a = new SusiUtterance("*", false, 0).getPattern().anchors();
+        assertNotNull(a);
+        assertTrue(a.mayMatch("anything"));
+
+        // anchors must never reject a string which matches
+        String[] utterances = {"what is *", "*ing", "* is *", "foo*", "*bar", "[token] *", "* + *", "hello *|hi *"};
+        String[] queries = {"what is love", "sing", "ing", "it is me", "foo", "foobar", "bar", "[token] a", "1 + 2", "hi there"};
+        for (String u: utterances) for (String q: queries) assertPrefilter(u, q);
+    }
+
+    @Test
+    public void testAhoCorasick() {
+        AhoCorasick ac = new AhoCorasick(Arrays.asList("he", "she", "his", "hers", "is a"));
+        BitSet found = ac.find("ushers is a test");
+        assertTrue(found.get(ac.id("he")));
+        assertTrue(found.get(ac.id("she")));
+        assertTrue(found.get(ac.id("hers")));
+        assertTrue(found.get(ac.id("is a")));
+        assertFalse(found.get(ac.id("his")));
+        assertEquals(-1, ac.id("unknown"));
+
+        // states with many transitions
+        ac = new AhoCorasick(Arrays.asList("xa", "xb", "xc", "xd", "xe", "xf", "xg", "xh", "xi", "xj", "é"));
+        found = ac.find("axxjxaé");
+        assertTrue(found.get(ac.id("xj")));
+        assertTrue(found.get(ac.id("xa")));
+        assertTrue(found.get(ac.id("é")));
+        assertFalse(found.get(ac.id("xb")));
+    }
+
+}
@@ -0,0 +1,44 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class SusiProceduresTest {
+
+    private static SusiThought thought(String name) {
+        return new SusiThought().addObservation("name", name);
+    }
+
+    private static String deduce(SusiProcedures procedures, String q) {
+        SusiThought t = procedures.deduce(null, q);
+        return t.getData().length() == 0 ? null : t.getData().getJSONObject(0).getString("name");
+    }
+
+    @Test
+    public void testDispatch() {
+        SusiProcedures procedures = new SusiProcedures();
+        procedures.put(Pattern.compile("SELECT +?(.*?) +?FROM +?\\( ??SELECT +?(.*?) ??\\) +?WHERE +?(.*?) ?+IN ?+\\((.*?)\\) ??;?"), (flow, matcher) -> thought("nested"));
+        for (int i = 0; i < 1000; i++) {
+            final String service = "service" + i;
+            procedures.put(service, Pattern.compile("SELECT +?(.*?) +?FROM +?" + service + " +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> thought(service + ":" + matcher.group(2)));
+        }
+        assertEquals("service7:x", deduce(procedures, "SELECT * FROM service7 WHERE query='x';"));
+        assertEquals("service999:y", deduce(procedures, " SELECT a AS b  FROM  service999  WHERE query = 'y' "));
+        assertEquals("nested", deduce(procedures, "SELECT * FROM (SELECT * FROM service1 WHERE query='x';) WHERE a IN ('b');"));
+        assertNull(deduce(procedures, "SELECT * FROM unknown WHERE query='x';"));
+
+        // a procedure of a service is only tried for expressions from that service
+        procedures.put("other", Pattern.compile("(.*)"), (flow, matcher) -> thought("other"));
+        assertEquals("service7:x", deduce(procedures, "SELECT * FROM service7 WHERE query='x';"));
+        assertEquals("other", deduce(procedures, "SELECT * FROM other WHERE query='x';"));
+
+        // the registration of a procedure with the same pattern replaces the procedure
+        procedures.put("service7", Pattern.compile("SELECT +?(.*?) +?FROM +?service7 +?WHERE +?query ??= ??'(.*?)' ??;?"), (flow, matcher) -> thought("new"));
+        assertEquals("new", deduce(procedures, "SELECT * FROM service7 WHERE query='x';"));
+        assertEquals(1002, procedures.size());
+    }
+
+}
@@ -0,0 +1,31 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SusiQueryContextTest {
+
+    @Test
+    public void testTokens() {
+        SusiQueryContext context = new SusiQueryContext("  Hello,  World?!", SusiLanguage.en);
+        assertEquals("hello world", context.getNormalized());
+        assertEquals("[hello, world]", context.getKeys().toString());
+
+        // punctuation starts a new token and there are no empty tokens
+        List<String> tokens = new ArrayList<>();
+        SusiLinguistics.tokenizeSentence(SusiLanguage.en, " Hello,  World?!").forEach(token -> tokens.add(token.original));
+        assertEquals("[hello, ,, world, ?, !]", tokens.toString());
+    }
+
+    @Test
+    public void testMemo() {
+        SusiReflectionMemo memo = new SusiReflectionMemo();
+        assertSame(memo.context("hello", SusiLanguage.en), memo.context("hello", SusiLanguage.en));
+        assertNotSame(memo.context("hello", SusiLanguage.en), memo.context("hello", SusiLanguage.de));
+    }
+
+}
@@ -0,0 +1,87 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class SusiScriptPoolTest {
+
+    @Test
+    public void testEval() throws Exception {
+        SusiScriptPool pool = new SusiScriptPool(2, 5000, 10);
+        assertEquals("1000.0", pool.eval("Math.pow(10, 3)"));
+        assertEquals("Hello world", pool.eval("print('Hello world');"));
+        assertEquals("1000.0", pool.eval("Math.pow(10, 3)"));
+
+        // concurrent evaluations use their own engines and outputs
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final int n = i;
+                results.add(executor.submit((Callable<String>) () -> pool.eval("print('" + n + "');")));
+            }
+            for (int i = 0; i < 100; i++) assertEquals(Integer.toString(i), results.get(i).get());
+        } finally {
+            executor.shutdown();
+        }
+        JSONObject stats = pool.getStatistics();
+        assertEquals(103, stats.getLong("evaluations"));
+        assertTrue(stats.getInt("engines") <= 2);
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        SusiScriptPool pool = new SusiScriptPool(1, 500, 10);
+        try {
+            pool.eval("while (true) {}");
+            fail("the script must be stopped");
+        } catch (TimeoutException e) {
+        }
+        assertEquals(1, pool.getStatistics().getLong("timeouts"));
+        assertEquals("2", pool.eval("1 + 1"));
+        assertEquals(0, pool.getStatistics().getInt("stuck"));
+    }
+
+    @Test
+    public void testInterrupt() throws Exception {
+        // an interrupted caller must not return the engine of its running script to the pool
+        SusiScriptPool pool = new SusiScriptPool(1, 5000, 10);
+        final Thread caller = Thread.currentThread();
+        Thread interrupter = new Thread(() -> {
+            try {Thread.sleep(300);} catch (InterruptedException e) {}
+            caller.interrupt();
+        });
+        interrupter.start();
+        try {
+            pool.eval("while (true) {}");
+            fail("the evaluation must be interrupted");
+        } catch (InterruptedException e) {
+        }
+        interrupter.join();
+        Thread.interrupted();
+        assertEquals(1, pool.getStatistics().getLong("interrupts"));
+        assertEquals("2", pool.eval("1 + 1"));
+        JSONObject stats = pool.getStatistics();
+        assertEquals(0, stats.getInt("stuck"));
+        assertEquals(1, stats.getInt("engines"));
+    }
+
+    @Test
+    public void testIsolation() throws Exception {
+        // one engine for all evaluations: the globals of one script must not be visible to the next one
+        SusiScriptPool pool = new SusiScriptPool(1, 5000, 10);
+        pool.eval("var secret = 42;");
+        assertEquals("undefined", pool.eval("typeof secret"));
+    }
+
+}
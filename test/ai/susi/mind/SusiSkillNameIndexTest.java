@@ -0,0 +1,49 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class SusiSkillNameIndexTest {
+
+    @Test
+    public void testFind() throws Exception {
+        File root = Files.createTempDirectory("susi").toFile();
+        File dir = new File(root, "susi_skill_data/models/general/Test/en");
+        assertTrue(dir.mkdirs());
+        try {
+            File skill = new File(dir, "Weather_Skill.txt");
+            Files.write(skill.toPath(), "::name Weather Forecast\n\nweather\nsunny\n".getBytes(StandardCharsets.UTF_8));
+            SusiSkillNameIndex index = new SusiSkillNameIndex(60000);
+            assertEquals(skill, index.find(dir, "weather_skill"));
+            assertEquals(skill, index.find(dir, "Weather Forecast"));
+            assertEquals(skill, index.find(dir, "weather_forecast"));
+            assertNull(index.find(dir, "rain"));
+
+            // the index is updated when a skill changes
+            Files.write(skill.toPath(), "::name Rain\n\nweather\nrainy\n".getBytes(StandardCharsets.UTF_8));
+            index.update(skill);
+            assertEquals(skill, index.find(dir, "rain"));
+            assertNull(index.find(dir, "weather_forecast"));
+            assertTrue(skill.delete());
+            index.update(skill);
+            assertNull(index.find(dir, "weather_skill"));
+
+            // a file which is modified in place without an update is found when the directory is checked again
+            Files.write(skill.toPath(), "::name Weather Forecast\n\nweather\nsunny\n".getBytes(StandardCharsets.UTF_8));
+            index = new SusiSkillNameIndex(0);
+            assertEquals(skill, index.find(dir, "weather_forecast"));
+            Files.write(skill.toPath(), "::name Snow\n\nweather\nsnowy\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(skill, index.find(dir, "snow"));
+            assertNull(index.find(dir, "weather_forecast"));
+        } finally {
+            FileUtils.deleteDirectory(root);
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package ai.susi.mind;
+
+import static org.junit.Assert.*;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class SusiTemplateTest {
+
+    @Test
+    public void testInstantiate() {
+        JSONObject row = new JSONObject(true).put("a", "1").put("o", new JSONObject().put("x", "y"));
+        assertTrue(new SusiTemplate("hello world").isLiteral());
+        assertFalse(new SusiTemplate("hello $a$").isLiteral());
+        assertEquals("1, $a$, y, y, $b$", new SusiTemplate("$a$, $a$, $o.x$, $o.x$, $b$").instantiate(row, false));
+        assertEquals("a+b", new SusiTemplate("$c$").instantiate(new JSONObject().put("c", "a b"), true));
+
+        // the result of a key by key unification depends on the order of the keys: no one-pass instantiation
+        assertNull(new SusiTemplate("$x$a$y$").instantiate(row, false));
+        assertNull(new SusiTemplate("$a$").instantiate(new JSONObject().put("a", "$b$"), false));
+    }
+
+    @Test
+    public void testUnify() {
+        SusiThought t = new SusiThought().addObservation("a", "1").addObservation("a", "2");
+        assertArrayEquals(new String[]{"2 and 2", "1 and 2"}, t.unify("$a$ and $a$", 10, false, false));
+    }
+
+}
@@ -101,6 +101,12 @@ public class SusiTutorialTest {
             assertTrue("Potatoes|Vegetables|Fish".indexOf(susiAnswer("What is your favorite dish", identity)) >= 0);
             test("Bonjour", "Hello", identity);
             test("Buenos días", "Hello", identity);
+            long hits = SusiMind.getAnswerCacheStatistics().getLong("hits");
+            for (int i = 0; i < 2; i++) { // a static intent: the second reaction is answered from the answer cache
+                SusiThought thought = DAO.susi.react("Bonjour", SusiLanguage.en, identity, false, null, DAO.susi);
+                assertEquals("Hello", thought.getActions(false).get(0).getStringAttr("expression"));
+            }
+            assertTrue(SusiMind.getAnswerCacheStatistics().getLong("hits") > hits);
             test("May I work for you?", "Yes you may", identity);
             test("May I get a beer?", "Yes you may get a beer!", identity);
             test("For two dollars I can buy a beer", "Yeah, I believe two dollars is a good price for a beer", identity);
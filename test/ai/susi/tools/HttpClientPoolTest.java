@@ -0,0 +1,57 @@
+package ai.susi.tools;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class HttpClientPoolTest {
+
+    @Test
+    public void testReuse() throws Exception {
+        // an api stub which records the client ports, one for each connection
+        final Set<Integer> ports = ConcurrentHashMap.newKeySet();
+        Server server = new Server(0);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                ports.add(baseRequest.getRemotePort());
+                response.setContentType("application/json");
+                response.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+        HttpClientPool pool = new HttpClientPool("test", 10, 2, 30000, 60000);
+        try {
+            String url = "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + "/api";
+            for (int i = 0; i < 10; i++) {
+                assertEquals("{}", new String(HttpClient.loadGet(url, null, pool), StandardCharsets.UTF_8));
+            }
+
+            // all requests used the same connection which is now idle in the pool
+            assertEquals(1, ports.size());
+            JSONObject stats = pool.getStatistics();
+            assertEquals(0, stats.getInt("leased"));
+            assertEquals(1, stats.getInt("available"));
+            assertEquals(10, stats.getLong("requests"));
+            assertEquals(1, stats.getLong("dns_misses"));
+        } finally {
+            pool.close();
+            server.stop();
+        }
+    }
+
+}
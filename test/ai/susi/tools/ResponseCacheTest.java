@@ -0,0 +1,83 @@
+package ai.susi.tools;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.Test;
+
+import ai.susi.tools.HttpClient.Response;
+
+public class ResponseCacheTest {
+
+    @Test
+    public void testCache() throws Exception {
+        // a slow api stub which counts its requests
+        final AtomicInteger requests = new AtomicInteger(0);
+        Server server = new Server(0);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                int n = requests.incrementAndGet();
+                try {Thread.sleep(300);} catch (InterruptedException e) {}
+                response.setContentType("application/json");
+                response.getOutputStream().write(("{\"n\":" + n + "}").getBytes(StandardCharsets.UTF_8));
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        try {
+            final String url = "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + "/api";
+            final ResponseCache cache = new ResponseCache(1024 * 1024);
+
+            // concurrent equal requests cause only one request to the api
+            List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 20; i++) responses.add(executor.submit((Callable<Response>) () -> cache.get(url, null, 1000, 5000, () -> new Response(url, null))));
+            for (Future<Response> response: responses) assertEquals("{\"n\":1}", new String(response.get().getData(), StandardCharsets.UTF_8));
+            assertEquals(1, requests.get());
+
+            // a fresh response is taken from the cache
+            assertEquals("{\"n\":1}", new String(cache.get(url, null, 1000, 5000, () -> new Response(url, null)).getData(), StandardCharsets.UTF_8));
+            assertEquals(1, requests.get());
+
+            // a stale response is used while a new one is loaded in the background
+            Thread.sleep(1100);
+            assertEquals("{\"n\":1}", new String(cache.get(url, null, 1000, 5000, () -> new Response(url, null)).getData(), StandardCharsets.UTF_8));
+            for (int i = 0; i < 50 && requests.get() < 2; i++) Thread.sleep(100);
+            Thread.sleep(500);
+            assertEquals("{\"n\":2}", new String(cache.get(url, null, 1000, 5000, () -> new Response(url, null)).getData(), StandardCharsets.UTF_8));
+            assertEquals(2, requests.get());
+            assertEquals(1, cache.getStatistics().getLong("stale_hits"));
+
+            // a burst of stale hits causes only one revalidation
+            Thread.sleep(1100);
+            for (int i = 0; i < 30; i++) {
+                assertNotNull(cache.get(url, null, 1000, 5000, () -> new Response(url, null)).getData());
+                Thread.sleep(20);
+            }
+            for (int i = 0; i < 50 && requests.get() < 3; i++) Thread.sleep(100);
+            Thread.sleep(500);
+            assertEquals(3, requests.get());
+        } finally {
+            executor.shutdown();
+            server.stop();
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package ai.susi.tools;
+
+import static org.junit.Assert.*;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class TimeoutMatcherTest {
+
+    @Test
+    public void testMatch() {
+        TimeoutMatcher tm = new TimeoutMatcher(Pattern.compile("what is (.*)"), "what is love");
+        assertTrue(tm.matches());
+        assertEquals("love", tm.matcher().group(1));
+        assertFalse(new TimeoutMatcher(Pattern.compile("who is (.*)"), "what is love").matches());
+        assertTrue(new TimeoutMatcher(Pattern.compile("is"), "what is love").find());
+    }
+
+    @Test
+    public void testTimeout() {
+        // catastrophic backtracking: this does not terminate within a reasonable time
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 64; i++) sb.append('a');
+        long start = System.currentTimeMillis();
+        assertFalse(new TimeoutMatcher(Pattern.compile("(a+)+b"), sb.toString()).matches());
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void testFailure() {
+        // an input which fails while it is read does not match
+        CharSequence broken = new CharSequence() {
+            @Override public int length() {return 10;}
+            @Override public char charAt(int index) {throw new IllegalStateException();}
+            @Override public CharSequence subSequence(int start, int end) {throw new IllegalStateException();}
+        };
+        assertFalse(new TimeoutMatcher(Pattern.compile("what is (.*)"), broken).matches());
+        assertFalse(new TimeoutMatcher(Pattern.compile("is"), broken).find());
+    }
+
+}